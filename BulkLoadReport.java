@@ -0,0 +1,125 @@
+package com.example.demo;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量导入报告
+ * 统计导入数量、吞吐量以及每批管道往返的延迟分布
+ *
+ * @author tangzq
+ */
+public class BulkLoadReport {
+
+    private final long submitted;
+    private final long added;
+    private final long updated;
+    private final long failed;
+    private final long elapsedNanos;
+    private final long[] batchLatencyNanos;
+    private final List<String> sampleErrors;
+
+    BulkLoadReport(long submitted, long added, long updated, long failed, long elapsedNanos, long[] batchLatencyNanos,
+            List<String> sampleErrors) {
+        this.submitted = submitted;
+        this.added = added;
+        this.updated = updated;
+        this.failed = failed;
+        this.elapsedNanos = elapsedNanos;
+        this.batchLatencyNanos = batchLatencyNanos;
+        Arrays.sort(this.batchLatencyNanos);
+        this.sampleErrors = Collections.unmodifiableList(sampleErrors);
+    }
+
+    /**
+     * 提交的元素数量
+     */
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * 新增的元素数量
+     */
+    public long getAdded() {
+        return added;
+    }
+
+    /**
+     * 已存在并被更新的元素数量
+     */
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * 写入失败的元素数量（包含错误回复和连接异常导致整批失败的元素）
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * 导入总耗时（毫秒）
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * 吞吐量（元素/秒）
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : (added + updated + failed) * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * 管道批次数量
+     */
+    public int getBatchCount() {
+        return batchLatencyNanos.length;
+    }
+
+    /**
+     * 批次往返延迟分位数（微秒）
+     *
+     * @param percentile 分位，取值范围 (0, 100]
+     * @return 延迟微秒数，无批次时返回0
+     */
+    public long getBatchLatencyMicros(double percentile) {
+        return percentileMicros(batchLatencyNanos, percentile);
+    }
+
+    /**
+     * 延迟分位数（最近秩法），基准测试统计延迟时共用
+     *
+     * @param sortedNanos 升序排列的纳秒延迟
+     * @param percentile 分位，取值范围 (0, 100]
+     * @return 延迟微秒数，无样本时返回0
+     */
+    static long percentileMicros(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+        index = Math.max(0, Math.min(sortedNanos.length - 1, index));
+        return TimeUnit.NANOSECONDS.toMicros(sortedNanos[index]);
+    }
+
+    /**
+     * 部分错误信息样本
+     */
+    public List<String> getSampleErrors() {
+        return sampleErrors;
+    }
+
+    @Override
+    public String toString() {
+        return "批量导入报告：提交=" + submitted + "，新增=" + added + "，更新=" + updated + "，失败=" + failed + "，耗时="
+                + getElapsedMillis() + "ms，吞吐=" + String.format("%.1f", getThroughput()) + "/s，批次=" + getBatchCount()
+                + "，批次延迟(us) p50=" + getBatchLatencyMicros(50) + " p95=" + getBatchLatencyMicros(95) + " p99="
+                + getBatchLatencyMicros(99) + " max=" + getBatchLatencyMicros(100);
+    }
+}
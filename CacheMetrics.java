@@ -0,0 +1,73 @@
+package com.example.demo;
+
+/**
+ * 客户端缓存指标快照
+ * 命中、未命中、淘汰和失效计数从缓存创建起累计
+ *
+ * @author tangzq
+ */
+public class CacheMetrics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int size;
+
+    CacheMetrics(long hits, long misses, long evictions, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * 未命中次数（包括过期和已失效的条目）
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 命中率，尚无请求时为0
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 因容量上限被淘汰的条目数
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 失效次数（本地写入或键空间通知触发）
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * 当前条目数
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "缓存指标：命中=" + hits + "，未命中=" + misses + "，命中率=" + String.format("%.2f%%", getHitRate() * 100)
+                + "，淘汰=" + evictions + "，失效=" + invalidations + "，条目数=" + size;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 向量命令参数缓冲区
+ * 平台线程各持有一个可复用实例，关键字、常用整数和键名使用预编码字节，
+ * 热路径上除参数本身外不再产生 ArrayList、toArray 和 getBytes 分配。
+ * 虚拟线程通常一个任务一个线程，线程本地实例随线程丢弃，因此改为从共享槽位借用，{@link #release()} 时归还。
+ * 通过 {@link #begin()} 获取的实例只能在同一线程内、命令写出前使用
+ *
+ * @author tangzq
+ */
+final class CommandArgs {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * 预编码的小整数（维度、COUNT、EF 等常用参数）
+     */
+    private static final int CACHED_INT_LIMIT = 4096;
+    private static final byte[][] CACHED_INTS = new byte[CACHED_INT_LIMIT][];
+
+    /**
+     * 键名编码缓存，键名通常是少量常量，超过上限后不再缓存
+     */
+    private static final int KEY_CACHE_LIMIT = 1024;
+    private static final ConcurrentHashMap<String, byte[]> KEY_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 复用的定长参数数组上限，超过该长度（如 VALUES 模式的逐分量参数）时每次新建数组
+     */
+    private static final int EXACT_ARRAY_LIMIT = 64;
+
+    private static final ThreadLocal<CommandArgs> LOCAL = ThreadLocal.withInitial(() -> new CommandArgs(false));
+
+    /**
+     * 虚拟线程共享的实例槽位，槽位全部为空时新建实例，全部占满时归还的实例直接丢弃
+     */
+    private static final int SHARED_SLOTS = 64;
+    private static final int SHARED_PROBES = 4;
+    private static final AtomicReferenceArray<CommandArgs> SHARED = new AtomicReferenceArray<>(SHARED_SLOTS);
+
+    static {
+        for (int i = 0; i < CACHED_INT_LIMIT; i++) {
+            CACHED_INTS[i] = String.valueOf(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private byte[][] buffer = new byte[16][];
+    private int size;
+    private final byte[][][] exactArrays = new byte[EXACT_ARRAY_LIMIT + 1][][];
+
+    /**
+     * FP32 向量参数的复用数组
+     */
+    private byte[] fp32 = new byte[0];
+    private FloatBuffer fp32View = FloatBuffer.allocate(0);
+
+    /**
+     * 是否从共享槽位借出，释放时归还
+     */
+    private final boolean shared;
+
+    private CommandArgs(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * 获取当前线程可用的参数缓冲区并清空，虚拟线程从共享槽位借用
+     *
+     * @return 参数缓冲区
+     */
+    static CommandArgs begin() {
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            return borrowShared();
+        }
+        CommandArgs args = LOCAL.get();
+        args.size = 0;
+        return args;
+    }
+
+    /**
+     * 新建一个独立的参数缓冲区，适用于需要跨线程传递或延迟写出的场景
+     *
+     * @return 独立的参数缓冲区
+     */
+    static CommandArgs create() {
+        return new CommandArgs(false);
+    }
+
+    private static CommandArgs borrowShared() {
+        int start = ThreadLocalRandom.current().nextInt(SHARED_SLOTS);
+        for (int i = 0; i < SHARED_PROBES; i++) {
+            CommandArgs args = SHARED.getAndSet((start + i) % SHARED_SLOTS, null);
+            if (args != null) {
+                return args;
+            }
+        }
+        return new CommandArgs(true);
+    }
+
+    private void giveBackShared() {
+        int start = ThreadLocalRandom.current().nextInt(SHARED_SLOTS);
+        for (int i = 0; i < SHARED_PROBES; i++) {
+            if (SHARED.compareAndSet((start + i) % SHARED_SLOTS, null, this)) {
+                return;
+            }
+        }
+    }
+
+    CommandArgs add(byte[] arg) {
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, size << 1);
+        }
+        buffer[size++] = arg;
+        return this;
+    }
+
+    CommandArgs add(VectorKeyword keyword) {
+        return add(keyword.getRaw());
+    }
+
+    CommandArgs add(String arg) {
+        return add(arg.getBytes(charset));
+    }
+
+    CommandArgs add(long value) {
+        return add(encodeLong(value));
+    }
+
+    CommandArgs add(float value) {
+        return add(String.valueOf(value).getBytes(charset));
+    }
+
+    /**
+     * 添加小端序 FP32 向量参数，编码到实例内复用的数组。
+     * 每条命令最多一个 FP32 参数，数组在 {@link #release()} 后会被下一条命令覆盖
+     */
+    CommandArgs addFp32(float[] vector) {
+        int length = vector.length * VectorCodec.FP32_BYTES;
+        if (fp32.length != length) {
+            // Jedis 按数组整体长度写出参数，因此只能复用长度恰好相等的数组
+            fp32 = new byte[length];
+            fp32View = ByteBuffer.wrap(fp32).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        }
+        fp32View.clear();
+        fp32View.put(vector);
+        return add(fp32);
+    }
+
+    /**
+     * 添加键名参数，常量键名命中缓存后不再重复编码
+     */
+    CommandArgs addKey(String key) {
+        byte[] raw = KEY_CACHE.get(key);
+        if (raw == null) {
+            raw = key.getBytes(charset);
+            if (KEY_CACHE.size() < KEY_CACHE_LIMIT) {
+                KEY_CACHE.putIfAbsent(key, raw);
+            }
+        }
+        return add(raw);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 参数总字节数，用于估算管道写出量
+     */
+    long byteSize() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += buffer[i].length;
+        }
+        return total;
+    }
+
+    /**
+     * 导出定长参数数组，短命令复用线程内数组，调用 {@link #release()} 前不可再次 begin
+     *
+     * @return 与参数数量等长的参数数组
+     */
+    byte[][] toArray() {
+        if (size > EXACT_ARRAY_LIMIT) {
+            return Arrays.copyOf(buffer, size);
+        }
+        byte[][] exact = exactArrays[size];
+        if (exact == null) {
+            exact = new byte[size][];
+            exactArrays[size] = exact;
+        }
+        System.arraycopy(buffer, 0, exact, 0, size);
+        return exact;
+    }
+
+    /**
+     * 导出新分配的参数数组，数组归调用方所有
+     *
+     * @return 与参数数量等长的参数数组
+     */
+    byte[][] toOwnedArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * 清除对参数的引用，避免线程内缓冲区长期持有大向量；共享实例随后归还槽位，每次 begin 只能释放一次
+     */
+    void release() {
+        Arrays.fill(buffer, 0, size, null);
+        if (size <= EXACT_ARRAY_LIMIT && exactArrays[size] != null) {
+            Arrays.fill(exactArrays[size], null);
+        }
+        size = 0;
+        if (shared) {
+            giveBackShared();
+        }
+    }
+
+    /**
+     * 整数参数编码，小整数直接返回共享的预编码数组
+     */
+    static byte[] encodeLong(long value) {
+        if (value >= 0 && value < CACHED_INT_LIMIT) {
+            return CACHED_INTS[(int) value];
+        }
+        return String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * 并发命令合并器
+ * 调用方把命令放入共享队列后等待回复，少量写出线程各持有一个连接，一次取走队列中积压的全部命令（至多
+ * {@value #MAX_BATCH} 条）以管道方式写出并统一读取回复，再逐个完成调用方的 future。
+ * 一个写出线程等待回复期间，新到达的命令由其他写出线程取走，并发越高每次刷新合并的命令越多
+ *
+ * @author tangzq
+ */
+final class CommandCoalescer implements AutoCloseable {
+
+    private static final int MAX_BATCH = 256;
+    private static final int QUEUE_CAPACITY = 16384;
+
+    private final RedisVectorClient client;
+    private final long replyTimeoutMillis;
+    private final BlockingQueue<PendingCommand> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Writer[] writers;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+
+    private volatile boolean closed;
+
+    CommandCoalescer(RedisVectorClient client, int writerCount, long replyTimeoutMillis) {
+        this.client = client;
+        this.replyTimeoutMillis = replyTimeoutMillis;
+        this.writers = new Writer[writerCount];
+        for (int i = 0; i < writerCount; i++) {
+            writers[i] = new Writer();
+            writers[i].setName("redis-vector-coalescer-" + i);
+            writers[i].setDaemon(true);
+            writers[i].start();
+        }
+    }
+
+    /**
+     * 提交命令并等待回复
+     *
+     * @param command 向量命令
+     * @param args 命令参数，写出前调用方不可修改
+     * @return 命令回复
+     * @throws RedisVectorOverloadException 队列已满，或等待超时时命令尚未写出
+     */
+    Object execute(VectorCommand command, byte[][] args) {
+        if (closed) {
+            throw new IllegalStateException("命令合并器已关闭");
+        }
+        PendingCommand pending = new PendingCommand(command, args);
+        if (!queue.offer(pending)) {
+            throw new RedisVectorOverloadException("合并管道队列已满：capacity=" + QUEUE_CAPACITY);
+        }
+        try {
+            return pending.get(replyTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new JedisException(cause);
+        } catch (TimeoutException e) {
+            if (pending.abandon()) {
+                throw new RedisVectorOverloadException("命令在合并管道队列中等待超时：timeout=" + replyTimeoutMillis + "ms");
+            }
+            throw new JedisException("等待合并管道回复超时：timeout=" + replyTimeoutMillis + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.abandon();
+            throw new JedisException("等待合并管道回复被中断", e);
+        }
+    }
+
+    /**
+     * 平均每次管道刷新合并的命令数
+     */
+    double getAverageBatchSize() {
+        long count = flushes.sum();
+        return count == 0 ? 0 : (double) commands.sum() / count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Writer writer : writers) {
+            writer.interrupt();
+        }
+        IllegalStateException error = new IllegalStateException("命令合并器已关闭");
+        PendingCommand pending;
+        while ((pending = queue.poll()) != null) {
+            pending.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * 等待写出的命令
+     * 状态只会从 QUEUED 变为 WRITING 再变为 WRITTEN，或从 QUEUED 变为 ABANDONED。
+     * 调用方放弃等待后会释放线程内复用的参数缓冲区，因此正在写出的命令必须等写出完成才能放弃
+     */
+    static final class PendingCommand extends CompletableFuture<Object> {
+
+        private static final int QUEUED = 0;
+        private static final int WRITING = 1;
+        private static final int WRITTEN = 2;
+        private static final int ABANDONED = 3;
+
+        private static final AtomicIntegerFieldUpdater<PendingCommand> STATE = AtomicIntegerFieldUpdater
+                .newUpdater(PendingCommand.class, "state");
+
+        private final VectorCommand command;
+        private final byte[][] args;
+        private volatile int state;
+
+        PendingCommand(VectorCommand command, byte[][] args) {
+            this.command = command;
+            this.args = args;
+        }
+
+        boolean beginWrite() {
+            return STATE.compareAndSet(this, QUEUED, WRITING);
+        }
+
+        void endWrite() {
+            STATE.compareAndSet(this, WRITING, WRITTEN);
+        }
+
+        /**
+         * 放弃等待
+         *
+         * @return 命令尚未写出并已撤销返回true，已写出返回false
+         */
+        boolean abandon() {
+            if (STATE.compareAndSet(this, QUEUED, ABANDONED)) {
+                return true;
+            }
+            while (state == WRITING) {
+                Thread.onSpinWait();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 写出线程：持有一个连接，循环取出积压的命令并管道写出
+     */
+    private final class Writer extends Thread {
+
+        @Override
+        public void run() {
+            List<PendingCommand> batch = new ArrayList<>(MAX_BATCH);
+            List<Response<Object>> responses = new ArrayList<>(MAX_BATCH);
+            Jedis jedis = null;
+            try {
+                while (!closed) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    jedis = flush(jedis, batch, responses);
+                    batch.clear();
+                    responses.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (jedis != null) {
+                    jedis.close();
+                }
+            }
+        }
+
+        private Jedis flush(Jedis jedis, List<PendingCommand> batch, List<Response<Object>> responses) {
+            try {
+                if (jedis == null) {
+                    jedis = client.getResource();
+                }
+                try (Pipeline pipeline = jedis.pipelined()) {
+                    for (PendingCommand pending : batch) {
+                        if (!pending.beginWrite()) {
+                            responses.add(null);
+                            continue;
+                        }
+                        try {
+                            responses.add(pipeline.sendCommand(pending.command, pending.args));
+                        } finally {
+                            pending.endWrite();
+                        }
+                    }
+                    pipeline.sync();
+                }
+                flushes.increment();
+                commands.add(batch.size());
+
+                for (int i = 0; i < batch.size(); i++) {
+                    Response<Object> response = responses.get(i);
+                    if (response == null) {
+                        continue;
+                    }
+                    try {
+                        batch.get(i).complete(response.get());
+                    } catch (JedisDataException e) {
+                        batch.get(i).completeExceptionally(e);
+                    }
+                }
+                return jedis;
+
+            } catch (RuntimeException e) {
+                // 连接异常时整批失败，损坏的连接归还后由连接池销毁，下一批重新借用
+                for (PendingCommand pending : batch) {
+                    pending.endWrite();
+                    pending.completeExceptionally(e);
+                }
+                if (jedis != null) {
+                    jedis.close();
+                }
+                return null;
+            }
+        }
+    }
+}
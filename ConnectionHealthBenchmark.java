@@ -0,0 +1,83 @@
+package com.example.demo;
+
+import java.util.Arrays;
+
+/**
+ * 连接健康检查策略延迟对比
+ * 分别使用 {@link ConnectionHealthStrategy#ON_BORROW} 和 {@link ConnectionHealthStrategy#BACKGROUND}
+ * 创建客户端，单线程串行调用 VCARD / VISMEMBER 这类轻量命令，对比每次调用的延迟，需要可访问的 Redis
+ *
+ * <pre>
+ * java ConnectionHealthBenchmark [key] [每种策略的调用次数] [host] [port]
+ * </pre>
+ *
+ * @author tangzq
+ */
+public class ConnectionHealthBenchmark {
+
+    private static final int WARMUP_CALLS = 2_000;
+
+    public static void main(String[] args) {
+        String key = args.length > 0 ? args[0] : "services";
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        String host = args.length > 2 ? args[2] : "127.0.0.1";
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 16379;
+
+        long[] onBorrow = run(ConnectionHealthStrategy.ON_BORROW, host, port, key, calls);
+        long[] background = run(ConnectionHealthStrategy.BACKGROUND, host, port, key, calls);
+
+        print(ConnectionHealthStrategy.ON_BORROW, onBorrow);
+        print(ConnectionHealthStrategy.BACKGROUND, background);
+        System.out.println("每次调用节省(us) mean=" + String.format("%.1f", mean(onBorrow) - mean(background))
+                + " p50=" + (BulkLoadReport.percentileMicros(onBorrow, 50)
+                        - BulkLoadReport.percentileMicros(background, 50))
+                + " p99=" + (BulkLoadReport.percentileMicros(onBorrow, 99)
+                        - BulkLoadReport.percentileMicros(background, 99)));
+    }
+
+    private static long[] run(ConnectionHealthStrategy strategy, String host, int port, String key, int calls) {
+        try (RedisVectorClient client = RedisVectorClient.builder()
+                .host(host)
+                .port(port)
+                .healthStrategy(strategy)
+                .build()) {
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                call(client, key, i);
+            }
+            long[] latencies = new long[calls];
+            for (int i = 0; i < calls; i++) {
+                long begin = System.nanoTime();
+                call(client, key, i);
+                latencies[i] = System.nanoTime() - begin;
+            }
+            Arrays.sort(latencies);
+            return latencies;
+        }
+    }
+
+    private static void call(RedisVectorClient client, String key, int i) {
+        if ((i & 1) == 0) {
+            client.vCard(key);
+        } else {
+            client.vIsMember(key, "benchmark-" + i);
+        }
+    }
+
+    private static void print(ConnectionHealthStrategy strategy, long[] sorted) {
+        System.out.println(strategy + "：调用=" + sorted.length + "，延迟(us) mean=" + String.format("%.1f", mean(sorted))
+                + " p50=" + BulkLoadReport.percentileMicros(sorted, 50)
+                + " p99=" + BulkLoadReport.percentileMicros(sorted, 99)
+                + " max=" + BulkLoadReport.percentileMicros(sorted, 100));
+    }
+
+    private static double mean(long[] latencies) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (long latency : latencies) {
+            sum += latency;
+        }
+        return sum / 1000d / latencies.length;
+    }
+}
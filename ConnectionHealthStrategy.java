@@ -0,0 +1,20 @@
+package com.example.demo;
+
+/**
+ * 连接健康检查策略
+ *
+ * @author tangzq
+ */
+public enum ConnectionHealthStrategy {
+
+    /**
+     * 每次借用连接前发送 PING 校验，每个命令多一次网络往返，适合网络极不稳定且无法容忍单次失败的场景
+     */
+    ON_BORROW,
+
+    /**
+     * 由连接池后台线程定期校验并回收空闲连接，借用时不再 PING。
+     * 命令发生连接异常时只销毁损坏的那个连接，只读命令在新连接上重试一次，读超时（SocketTimeoutException）除外
+     */
+    BACKGROUND
+}
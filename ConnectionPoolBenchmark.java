@@ -0,0 +1,89 @@
+package com.example.demo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * 连接池借用/归还基准测试
+ * 对比 commons-pool2 连接池与 {@link StripedConnectionPool} 在 8、32、128 个线程下借用并归还一个连接的吞吐，
+ * 不发送命令以隔离连接池本身的同步开销；连接在预热阶段建立，需要可访问的 Redis
+ *
+ * @author tangzq
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean striped;
+
+    @Param({ "127.0.0.1" })
+    public String host;
+
+    @Param({ "16379" })
+    public int port;
+
+    private RedisVectorClient client;
+
+    @Setup
+    public void setUp() {
+        client = RedisVectorClient.builder()
+                .host(host)
+                .port(port)
+                .maxTotal(30)
+                .maxIdle(30)
+                .minIdle(30)
+                .maxWait(-1)
+                .striped(striped)
+                .build();
+        client.warmUp();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean borrowReturn8Threads() {
+        return borrowReturn();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean borrowReturn32Threads() {
+        return borrowReturn();
+    }
+
+    @Benchmark
+    @Threads(128)
+    public boolean borrowReturn128Threads() {
+        return borrowReturn();
+    }
+
+    private boolean borrowReturn() {
+        try (Jedis jedis = client.getResource()) {
+            return jedis != null;
+        }
+    }
+}
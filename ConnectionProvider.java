@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import java.time.Duration;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * 连接来源
+ * 借出的连接由调用方关闭归还，借用超时抛出 {@link RedisVectorOverloadException}
+ *
+ * @author tangzq
+ */
+interface ConnectionProvider extends AutoCloseable {
+
+    /**
+     * 借出连接
+     */
+    Jedis getResource();
+
+    int getMaxTotal();
+
+    /**
+     * 调整最大连接数，超出新上限的空闲连接随即销毁，借出中的连接在归还时销毁
+     */
+    void setMaxTotal(int maxTotal);
+
+    int getMinIdle();
+
+    void setMinIdle(int minIdle);
+
+    int getNumActive();
+
+    int getNumIdle();
+
+    int getNumWaiters();
+
+    Duration getMeanBorrowWaitDuration();
+
+    Duration getMaxBorrowWaitDuration();
+
+    long getCreatedCount();
+
+    long getDestroyedCount();
+
+    boolean isClosed();
+
+    @Override
+    void close();
+}
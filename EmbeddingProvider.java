@@ -0,0 +1,19 @@
+package com.example.demo;
+
+/**
+ * 文本向量化接口
+ * 封装具体的嵌入模型调用，可由 {@link MappedEmbeddingCache} 包装以持久化缓存结果
+ *
+ * @author tangzq
+ */
+@FunctionalInterface
+public interface EmbeddingProvider {
+
+    /**
+     * 将文本转换为向量
+     *
+     * @param text 文本
+     * @return 向量，同一提供者返回的维度应保持一致
+     */
+    float[] embed(String text);
+}
@@ -0,0 +1,103 @@
+package com.example.demo;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * 基于 commons-pool2 {@link JedisPool} 的连接来源
+ *
+ * @author tangzq
+ */
+final class JedisPoolConnectionProvider implements ConnectionProvider {
+
+    private final JedisPool jedisPool;
+
+    JedisPoolConnectionProvider(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    @Override
+    public Jedis getResource() {
+        try {
+            return jedisPool.getResource();
+        } catch (JedisException e) {
+            // Jedis 4 起借用超时不再有专用异常，而是以 NoSuchElementException 为原因的 JedisException
+            if (e.getCause() instanceof NoSuchElementException) {
+                throw new RedisVectorOverloadException(
+                        "等待 Redis 连接超时：maxWait=" + jedisPool.getMaxWaitDuration().toMillis() + "ms", e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return jedisPool.getMaxTotal();
+    }
+
+    @Override
+    public void setMaxTotal(int maxTotal) {
+        // 空闲上限随总数调整，避免扩容后归还的连接因超过 maxIdle 被立即销毁
+        jedisPool.setMaxIdle(maxTotal);
+        jedisPool.setMaxTotal(maxTotal);
+    }
+
+    @Override
+    public int getMinIdle() {
+        return jedisPool.getMinIdle();
+    }
+
+    @Override
+    public void setMinIdle(int minIdle) {
+        jedisPool.setMinIdle(minIdle);
+    }
+
+    @Override
+    public int getNumActive() {
+        return jedisPool.getNumActive();
+    }
+
+    @Override
+    public int getNumIdle() {
+        return jedisPool.getNumIdle();
+    }
+
+    @Override
+    public int getNumWaiters() {
+        return jedisPool.getNumWaiters();
+    }
+
+    @Override
+    public Duration getMeanBorrowWaitDuration() {
+        return jedisPool.getMeanBorrowWaitDuration();
+    }
+
+    @Override
+    public Duration getMaxBorrowWaitDuration() {
+        return jedisPool.getMaxBorrowWaitDuration();
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return jedisPool.getCreatedCount();
+    }
+
+    @Override
+    public long getDestroyedCount() {
+        return jedisPool.getDestroyedCount();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return jedisPool.isClosed();
+    }
+
+    @Override
+    public void close() {
+        jedisPool.close();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo;
+
+/**
+ * 按 Redis 键失效的客户端结果缓存
+ * 供本地写入和 {@link KeyspaceNotificationListener} 统一触发失效
+ *
+ * @author tangzq
+ */
+interface KeyedResultCache {
+
+    /**
+     * 使键的全部缓存结果失效
+     */
+    void invalidate(String key);
+
+    /**
+     * 暂停或恢复缓存，暂停时清空已有条目
+     */
+    void setEnabled(boolean enabled);
+}
@@ -0,0 +1,137 @@
+package com.example.demo;
+
+import java.util.List;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * 键空间通知监听器
+ * 在独立连接上订阅 {@code __keyspace@<db>__:*}，其他客户端写入某个键时使该键在各结果缓存中失效。
+ * 服务端需开启键空间通知（如 {@code notify-keyspace-events KA}），客户端不会修改服务端配置。
+ * 订阅建立前和断开期间缓存暂停使用，断开后按固定间隔重连
+ *
+ * @author tangzq
+ */
+final class KeyspaceNotificationListener implements AutoCloseable {
+
+    private static final long RECONNECT_INTERVAL_MILLIS = 1000;
+
+    private final HostAndPort hostAndPort;
+    private final JedisClientConfig clientConfig;
+    private final List<KeyedResultCache> caches;
+    private final String pattern;
+    private final int prefixLength;
+    private final Thread thread;
+
+    private volatile boolean closed;
+    private volatile JedisPubSub subscriber;
+    private volatile Jedis connection;
+
+    KeyspaceNotificationListener(HostAndPort hostAndPort, JedisClientConfig clientConfig, int database,
+            List<KeyedResultCache> caches) {
+        this.hostAndPort = hostAndPort;
+        this.clientConfig = clientConfig;
+        this.caches = caches;
+        String prefix = "__keyspace@" + database + "__:";
+        this.pattern = prefix + "*";
+        this.prefixLength = prefix.length();
+        this.thread = new Thread(this::run, "redis-vector-keyspace-listener");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        setCachesEnabled(false);
+        thread.start();
+    }
+
+    private void run() {
+        while (!closed) {
+            try (Jedis jedis = new Jedis(hostAndPort, clientConfig)) {
+                connection = jedis;
+                // 先发布连接再检查关闭标记，与 close() 的顺序相反，保证至少一方看到对方
+                if (closed) {
+                    return;
+                }
+                JedisPubSub pubSub = new InvalidatingPubSub();
+                subscriber = pubSub;
+                // 阻塞直到取消订阅或连接断开
+                jedis.psubscribe(pubSub, pattern);
+            } catch (JedisException e) {
+                // 连接失败或断开，稍后重连
+            } finally {
+                connection = null;
+                subscriber = null;
+                setCachesEnabled(false);
+            }
+            if (closed) {
+                return;
+            }
+            try {
+                Thread.sleep(RECONNECT_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void setCachesEnabled(boolean enabled) {
+        for (KeyedResultCache cache : caches) {
+            cache.setEnabled(enabled);
+        }
+    }
+
+    /**
+     * 停止监听
+     * 订阅尚未生效时 punsubscribe 会失败，而中断无法唤醒阻塞的套接字读取，因此同时断开监听连接；
+     * 断开后 psubscribe 若重新建立了连接，订阅生效时的回调会检查关闭标记并自行取消订阅
+     */
+    @Override
+    public void close() {
+        closed = true;
+        JedisPubSub pubSub = subscriber;
+        if (pubSub != null) {
+            try {
+                pubSub.punsubscribe();
+            } catch (JedisException e) {
+                // 订阅尚未生效或连接已断开
+            }
+        }
+        Jedis jedis = connection;
+        if (jedis != null) {
+            try {
+                jedis.disconnect();
+            } catch (JedisException e) {
+                // 连接已断开
+            }
+        }
+        thread.interrupt();
+    }
+
+    private final class InvalidatingPubSub extends JedisPubSub {
+
+        @Override
+        public void onPSubscribe(String pattern, int subscribedChannels) {
+            if (closed) {
+                // 订阅生效前已关闭，close() 的取消订阅没有送达
+                punsubscribe();
+                return;
+            }
+            // 订阅生效后才恢复缓存，断开期间错过的写入已由暂停时的全部失效覆盖
+            setCachesEnabled(true);
+        }
+
+        @Override
+        public void onPMessage(String pattern, String channel, String message) {
+            if (channel.length() > prefixLength) {
+                String key = channel.substring(prefixLength);
+                for (KeyedResultCache cache : caches) {
+                    cache.invalidate(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 向量集合的本地镜像
+ * 通过 VRANGE 分页遍历元素，以管道方式读取 VEMB 和 VGETATTR，把归一化向量连续存放在堆外内存中，
+ * 在本地以精确暴力搜索回答 top-k 查询，省去到 Redis 的网络往返。适用于数千量级、查询频繁的小集合。
+ *
+ * <p>点积由 {@link VectorScorer} 计算，JDK Vector API 可用时使用 SIMD 内核，否则使用标量实现。
+ * 分数与 VSIM WITHSCORES 一致，为 (1 + 余弦相似度) / 2。只支持按查询向量取 top-k，不支持 FILTER、EF 等选项</p>
+ *
+ * <p>同步方式：镜像注册到客户端的缓存失效链路，本客户端写入该键或收到键空间通知
+ * （客户端需开启 {@link RedisVectorClient.Builder#keyspaceNotifications(boolean)}）时在后台线程整体重新加载，
+ * 加载完成前继续使用旧数据。订阅断开期间可能错过的写入在重新订阅后同样触发一次重新加载</p>
+ *
+ * <pre>
+ * try (LocalVectorMirror mirror = LocalVectorMirror.load(RedisVectorUtil.defaultClient(), "services")) {
+ *     SimilarityResult result = mirror.search(query, 5);
+ * }
+ * </pre>
+ *
+ * @author tangzq
+ */
+public final class LocalVectorMirror implements KeyedResultCache, AutoCloseable {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * 每次 VRANGE 读取的元素数，也是 VEMB/VGETATTR 管道的批次大小
+     */
+    private static final int PAGE_SIZE = 500;
+
+    /**
+     * 搜索时每次从堆外复制到线程本地数组的分量数
+     */
+    private static final int BLOCK_FLOATS = 16 * 1024;
+
+    private static final ThreadLocal<float[]> BLOCK = new ThreadLocal<>();
+
+    private final RedisVectorClient client;
+    private final String key;
+    private final ExecutorService reloader;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+    private volatile boolean missedNotifications;
+    private volatile boolean closed;
+
+    private LocalVectorMirror(RedisVectorClient client, String key) {
+        this.client = client;
+        this.key = key;
+        this.reloader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-vector-mirror-" + key);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 加载向量集合并开始跟踪变更
+     *
+     * @param client 客户端
+     * @param key 向量集合的键名
+     * @return 已完成首次加载的镜像
+     */
+    public static LocalVectorMirror load(RedisVectorClient client, String key) {
+        if (client == null || key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("本地镜像参数非法：client/key 不可为空");
+        }
+        LocalVectorMirror mirror = new LocalVectorMirror(client, key);
+        // 先注册再加载，加载期间发生的写入会再触发一次重新加载
+        client.registerResultCache(mirror);
+        try {
+            mirror.refresh();
+        } catch (RuntimeException e) {
+            mirror.close();
+            throw e;
+        }
+        return mirror;
+    }
+
+    /**
+     * 同步重新加载全部元素
+     */
+    public synchronized void refresh() {
+        snapshot = loadSnapshot();
+        stale = false;
+    }
+
+    /**
+     * 精确 top-k 搜索
+     *
+     * @param query 查询向量，维度须与集合一致
+     * @param count 返回的最大结果数
+     * @return 按分数从高到低排列的结果，包含分数和属性
+     */
+    public SimilarityResult search(float[] query, int count) {
+        Snapshot current = checkQuery(query, count);
+        TopK top = topK(current, query, count);
+        int size = top.size;
+        byte[][] ids = new byte[size][];
+        double[] scores = new double[size];
+        byte[][] attributes = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            int row = top.rows[i];
+            ids[i] = current.ids[row];
+            scores[i] = top.scores[i];
+            attributes[i] = current.attributes[row];
+        }
+        return new SimilarityResult(size, ids, scores, attributes);
+    }
+
+    /**
+     * 精确 top-k 搜索，结果写入调用方复用的缓冲区
+     *
+     * @param query 查询向量，维度须与集合一致
+     * @param count 返回的最大结果数
+     * @param dst 结果缓冲区，原有内容被覆盖
+     * @return 结果数量
+     */
+    public int search(float[] query, int count, SearchResultBuffer dst) {
+        if (dst == null) {
+            throw new IllegalArgumentException("本地镜像结果缓冲区不可为空");
+        }
+        Snapshot current = checkQuery(query, count);
+        TopK top = topK(current, query, count);
+        dst.begin(true, true);
+        for (int i = 0; i < top.size; i++) {
+            int row = top.rows[i];
+            int index = dst.add();
+            dst.ids().put(index, current.ids[row]);
+            dst.setScore(index, top.scores[i]);
+            dst.attributes().put(index, current.attributes[row]);
+        }
+        return top.size;
+    }
+
+    /**
+     * 元素数量
+     *
+     * @return 元素数量
+     */
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * 向量维度
+     *
+     * @return 维度，集合为空时返回0
+     */
+    public int getDimension() {
+        return snapshot.dim;
+    }
+
+    /**
+     * 最近一次后台重新加载是否失败，失败时继续使用旧数据，下次变更或 {@link #refresh()} 时重试
+     *
+     * @return 数据可能过期时返回true
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    @Override
+    public void invalidate(String key) {
+        if (this.key.equals(key)) {
+            scheduleReload();
+        }
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            missedNotifications = true;
+        } else if (missedNotifications) {
+            missedNotifications = false;
+            scheduleReload();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        client.unregisterResultCache(this);
+        reloader.shutdownNow();
+    }
+
+    private void scheduleReload() {
+        if (closed || !reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        reloader.execute(() -> {
+            // 先清除标记，加载期间到达的变更会再排队一次
+            reloadPending.set(false);
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                stale = true;
+            }
+        });
+    }
+
+    private Snapshot loadSnapshot() {
+        Long card = client.vCard(key);
+        Integer dimension = card == null || card == 0 ? null : client.vDim(key);
+        if (dimension == null) {
+            return new Snapshot(0, 0, ByteBuffer.allocateDirect(0).asFloatBuffer(), new byte[0][], new byte[0][]);
+        }
+        int dim = dimension;
+
+        List<byte[]> ids = new ArrayList<>();
+        List<byte[]> attributes = new ArrayList<>();
+        FloatBuffer vectors = allocate(0, dim);
+        float[] row = new float[dim];
+        String start = "-";
+        while (true) {
+            List<String> page = client.vRange(key, start, "+", PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object> replies = client.vEmbAndAttrPipelined(key, page);
+            for (int i = 0; i < page.size(); i++) {
+                List<?> embedding = (List<?>) replies.get(i << 1);
+                if (embedding == null) {
+                    // 遍历期间被删除
+                    continue;
+                }
+                VectorCodec.decodeRawEmbedding(embedding, dim, row, true);
+                if (vectors.remaining() < dim) {
+                    vectors = grow(vectors, dim);
+                }
+                vectors.put(row);
+                ids.add(page.get(i).getBytes(charset));
+                Object attribute = replies.get((i << 1) + 1);
+                attributes.add(attribute instanceof byte[] && ((byte[]) attribute).length > 0 ? (byte[]) attribute
+                        : null);
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            start = "(" + page.get(page.size() - 1);
+        }
+        vectors.flip();
+        return new Snapshot(ids.size(), dim, vectors, ids.toArray(new byte[0][]), attributes.toArray(new byte[0][]));
+    }
+
+    private static FloatBuffer allocate(int rows, int dim) {
+        int capacity = Math.max(rows, 64);
+        return ByteBuffer.allocateDirect(capacity * dim * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    private static FloatBuffer grow(FloatBuffer vectors, int dim) {
+        FloatBuffer grown = allocate((vectors.capacity() / dim) << 1, dim);
+        vectors.flip();
+        grown.put(vectors);
+        return grown;
+    }
+
+    private Snapshot checkQuery(float[] query, int count) {
+        Snapshot current = snapshot;
+        if (closed) {
+            throw new IllegalStateException("本地镜像已关闭：key=" + key);
+        }
+        if (query == null || count <= 0) {
+            throw new IllegalArgumentException("本地镜像搜索参数非法：query 不可为空，count 必须大于0");
+        }
+        if (current.size > 0 && query.length != current.dim) {
+            throw new IllegalArgumentException("查询向量维度不匹配（期望=" + current.dim + "，实际=" + query.length + "）");
+        }
+        return current;
+    }
+
+    /**
+     * 逐块把堆外向量复制到线程本地数组后计算点积，用小顶堆保留分数最高的 count 个
+     */
+    private static TopK topK(Snapshot current, float[] query, int count) {
+        TopK top = new TopK(Math.min(count, current.size));
+        if (current.size == 0) {
+            return top;
+        }
+        float norm = VectorScorer.norm(query);
+        float inverseNorm = norm == 0 ? 0 : 1 / norm;
+
+        int dim = current.dim;
+        int rowsPerBlock = Math.max(1, BLOCK_FLOATS / dim);
+        float[] block = BLOCK.get();
+        if (block == null || block.length < rowsPerBlock * dim) {
+            block = new float[rowsPerBlock * dim];
+            BLOCK.set(block);
+        }
+        for (int first = 0; first < current.size; first += rowsPerBlock) {
+            int rows = Math.min(rowsPerBlock, current.size - first);
+            current.vectors.get(first * dim, block, 0, rows * dim);
+            for (int r = 0; r < rows; r++) {
+                float dot = VectorScorer.dot(block, r * dim, query, 0, dim);
+                top.offer(first + r, (1 + dot * inverseNorm) / 2);
+            }
+        }
+        top.sort();
+        return top;
+    }
+
+    /**
+     * 一次加载的不可变数据，重新加载时整体替换
+     */
+    private static final class Snapshot {
+
+        private final int size;
+        private final int dim;
+        private final FloatBuffer vectors;
+        private final byte[][] ids;
+        private final byte[][] attributes;
+
+        Snapshot(int size, int dim, FloatBuffer vectors, byte[][] ids, byte[][] attributes) {
+            this.size = size;
+            this.dim = dim;
+            this.vectors = vectors;
+            this.ids = ids;
+            this.attributes = attributes;
+        }
+    }
+
+    /**
+     * 以行号和分数两个数组实现的小顶堆
+     */
+    private static final class TopK {
+
+        private final int[] rows;
+        private final float[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            this.rows = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int row, float score) {
+            if (size < rows.length) {
+                rows[size] = row;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (rows.length > 0 && score > scores[0]) {
+                rows[0] = row;
+                scores[0] = score;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * 依次取出堆顶，得到按分数从高到低的顺序
+         */
+        void sort() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int limit) {
+            while (true) {
+                int child = (i << 1) + 1;
+                if (child >= limit) {
+                    return;
+                }
+                if (child + 1 < limit && scores[child + 1] < scores[child]) {
+                    child++;
+                }
+                if (scores[i] <= scores[child]) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
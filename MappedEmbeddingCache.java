@@ -0,0 +1,395 @@
+package com.example.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 持久化的文本向量缓存
+ * 包装一个 {@link EmbeddingProvider}，按文本缓存其结果。向量追加写入内存映射文件，进程重启后直接复用，
+ * 数据不占用堆内存；堆上只保留文本哈希到文件偏移的开放寻址索引。同一份语料重新建索引时，未变化的文本不会再次调用嵌入模型。
+ *
+ * <p>文件格式（小端序）：24 字节文件头（魔数、版本、维度、保留、已提交长度），其后为顺序追加的记录，
+ * 每条记录为 文本字节长度(int)、UTF-8 文本、对齐到 4 字节的填充、维度个 float。
+ * 记录写完后才更新文件头中的已提交长度，写入中途崩溃留下的半条记录在下次打开时被忽略。
+ * 文件不区分嵌入模型，更换模型时应使用新的文件</p>
+ *
+ * <pre>
+ * try (MappedEmbeddingCache cache = new MappedEmbeddingCache(Paths.get("embeddings.bin"), provider)) {
+ *     FloatBuffer vector = cache.embedding("台风预警"); // 映射文件上的只读视图，不复制
+ *     float[] array = cache.embed("台风预警");          // 复制为数组
+ * }
+ * </pre>
+ *
+ * @author tangzq
+ */
+public final class MappedEmbeddingCache implements EmbeddingProvider, AutoCloseable {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    private static final int MAGIC = 0x43424D45;
+    private static final int VERSION = 1;
+    private static final int DIM_OFFSET = 8;
+    private static final int END_OFFSET = 16;
+    private static final int HEADER_SIZE = 24;
+    private static final int INITIAL_FILE_SIZE = 1 << 20;
+
+    private final Path file;
+    private final EmbeddingProvider delegate;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    /**
+     * 以下字段均受 this 保护。扩容时重新映射，已返回的旧视图仍指向旧映射，内容不变
+     */
+    private MappedByteBuffer mapped;
+    private int dim;
+    private int end;
+    private long[] hashes;
+    private int[] positions;
+    private int count;
+    private boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 打开或创建缓存文件，已有文件的记录在构造时载入索引
+     *
+     * @param file 缓存文件路径，同一时间只能被一个实例打开
+     * @param delegate 缓存未命中时调用的嵌入提供者
+     */
+    public MappedEmbeddingCache(Path file, EmbeddingProvider delegate) {
+        if (file == null || delegate == null) {
+            throw new IllegalArgumentException("嵌入缓存参数非法：file/delegate 不可为空");
+        }
+        this.file = file;
+        this.delegate = delegate;
+        this.hashes = new long[1024];
+        this.positions = new int[1024];
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.fileLock = tryLock(channel);
+            if (fileLock == null) {
+                channel.close();
+                throw new IllegalStateException("嵌入缓存文件已被占用：file=" + file);
+            }
+            long size = channel.size();
+            if (size == 0) {
+                map(INITIAL_FILE_SIZE);
+                mapped.putInt(0, MAGIC);
+                mapped.putInt(4, VERSION);
+                mapped.putInt(DIM_OFFSET, 0);
+                end = HEADER_SIZE;
+                mapped.putLong(END_OFFSET, end);
+            } else {
+                if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("嵌入缓存文件格式错误：file=" + file + ", size=" + size);
+                }
+                map((int) size);
+                load();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开嵌入缓存文件失败：file=" + file, e);
+        }
+    }
+
+    /**
+     * 获取文本向量，未缓存时调用嵌入提供者并写入缓存
+     *
+     * @param text 文本
+     * @return 向量数组（从映射文件复制）
+     */
+    @Override
+    public float[] embed(String text) {
+        FloatBuffer view = embedding(text);
+        float[] vector = new float[view.remaining()];
+        view.get(vector);
+        return vector;
+    }
+
+    /**
+     * 获取文本向量，未缓存时调用嵌入提供者并写入缓存
+     *
+     * @param text 文本
+     * @return 映射文件上的只读视图，不复制向量数据，在缓存关闭前有效
+     */
+    public FloatBuffer embedding(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("嵌入文本不可为空");
+        }
+        byte[] bytes = text.getBytes(charset);
+        long hash = hash(bytes);
+        synchronized (this) {
+            ensureOpen();
+            int position = find(hash, bytes);
+            if (position >= 0) {
+                hits.increment();
+                return view(position, bytes.length);
+            }
+        }
+        misses.increment();
+
+        // 嵌入调用耗时较长，不持有锁；并发计算同一文本时只保留先写入的结果
+        float[] vector = delegate.embed(text);
+        synchronized (this) {
+            ensureOpen();
+            int position = find(hash, bytes);
+            if (position < 0) {
+                position = append(hash, bytes, vector);
+            }
+            return view(position, bytes.length);
+        }
+    }
+
+    /**
+     * 查找已缓存的文本向量，不调用嵌入提供者
+     *
+     * @param text 文本
+     * @return 映射文件上的只读视图，未缓存时返回null
+     */
+    public FloatBuffer get(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("嵌入文本不可为空");
+        }
+        byte[] bytes = text.getBytes(charset);
+        long hash = hash(bytes);
+        synchronized (this) {
+            ensureOpen();
+            int position = find(hash, bytes);
+            return position < 0 ? null : view(position, bytes.length);
+        }
+    }
+
+    /**
+     * 已缓存的文本数
+     *
+     * @return 文本数
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * 向量维度
+     *
+     * @return 维度，尚未写入任何向量时返回0
+     */
+    public synchronized int getDimension() {
+        return dim;
+    }
+
+    /**
+     * 获取缓存指标，嵌入缓存只追加不淘汰，淘汰和失效计数恒为0
+     *
+     * @return 缓存指标快照
+     */
+    public CacheMetrics getMetrics() {
+        return new CacheMetrics(hits.sum(), misses.sum(), 0, 0, size());
+    }
+
+    /**
+     * 将已写入的记录刷到磁盘
+     */
+    public synchronized void flush() {
+        ensureOpen();
+        mapped.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        mapped.force();
+        mapped = null;
+        try {
+            fileLock.release();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("关闭嵌入缓存文件失败：file=" + file, e);
+        }
+    }
+
+    /**
+     * 同一进程内重复打开时 tryLock 抛出 OverlappingFileLockException，与其他进程占用同样处理
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("嵌入缓存已关闭：file=" + file);
+        }
+    }
+
+    private void map(int size) throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 校验文件头并按已提交长度重建索引
+     */
+    private void load() {
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IllegalStateException("不是嵌入缓存文件或版本不兼容：file=" + file);
+        }
+        dim = mapped.getInt(DIM_OFFSET);
+        long committed = mapped.getLong(END_OFFSET);
+        if (dim < 0 || committed < HEADER_SIZE || committed > mapped.capacity()) {
+            throw new IllegalStateException("嵌入缓存文件头损坏：file=" + file);
+        }
+        end = (int) committed;
+        int position = HEADER_SIZE;
+        while (position < end) {
+            int textLength = mapped.getInt(position);
+            if (textLength < 0 || (long) position + recordSize(textLength) > end) {
+                throw new IllegalStateException("嵌入缓存文件记录损坏：file=" + file + ", position=" + position);
+            }
+            byte[] bytes = new byte[textLength];
+            mapped.get(position + 4, bytes);
+            insert(hash(bytes), position);
+            position += recordSize(textLength);
+        }
+    }
+
+    private int append(long hash, byte[] bytes, float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new IllegalStateException("嵌入提供者返回了空向量");
+        }
+        if (dim == 0) {
+            dim = vector.length;
+            mapped.putInt(DIM_OFFSET, dim);
+        } else if (vector.length != dim) {
+            throw new IllegalStateException("向量维度与缓存文件不一致（期望=" + dim + "，实际=" + vector.length + "）");
+        }
+        int size = recordSize(bytes.length);
+        ensureCapacity((long) end + size);
+
+        int position = end;
+        mapped.putInt(position, bytes.length);
+        mapped.put(position + 4, bytes);
+        int offset = vectorOffset(position, bytes.length);
+        for (int i = 0; i < dim; i++) {
+            mapped.putFloat(offset + (i << 2), vector[i]);
+        }
+        end += size;
+        mapped.putLong(END_OFFSET, end);
+        insert(hash, position);
+        return position;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= mapped.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("嵌入缓存文件超过 2GB 上限：file=" + file);
+        }
+        long capacity = Math.min(Integer.MAX_VALUE, Math.max((long) mapped.capacity() << 1, required));
+        try {
+            map((int) capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("扩展嵌入缓存文件失败：file=" + file, e);
+        }
+    }
+
+    private FloatBuffer view(int position, int textLength) {
+        return mapped.slice(vectorOffset(position, textLength), dim << 2)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .asReadOnlyBuffer();
+    }
+
+    private int recordSize(int textLength) {
+        return vectorOffset(0, textLength) + (dim << 2);
+    }
+
+    private static int vectorOffset(int position, int textLength) {
+        return position + ((4 + textLength + 3) & ~3);
+    }
+
+    private int find(long hash, byte[] bytes) {
+        int mask = hashes.length - 1;
+        for (int slot = (int) hash & mask; hashes[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && textEquals(positions[slot], bytes)) {
+                return positions[slot];
+            }
+        }
+        return -1;
+    }
+
+    private boolean textEquals(int position, byte[] bytes) {
+        if (mapped.getInt(position) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (mapped.get(position + 4 + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long hash, int position) {
+        if ((count + 1) << 1 > hashes.length) {
+            rehash(hashes.length << 1);
+        }
+        int mask = hashes.length - 1;
+        int slot = (int) hash & mask;
+        while (hashes[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashes[slot] = hash;
+        positions[slot] = position;
+        count++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldHashes = hashes;
+        int[] oldPositions = positions;
+        hashes = new long[capacity];
+        positions = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                int slot = (int) oldHashes[i] & mask;
+                while (hashes[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                positions[slot] = oldPositions[i];
+            }
+        }
+    }
+
+    /**
+     * 64 位 FNV-1a 哈希，0 保留为空槽标记
+     */
+    private static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.demo;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+/**
+ * NIO 传输层解码校验
+ * 进程内的回环服务端按命令返回预先编码的回复，覆盖 VEMB RAW 的 f32/q8/bin 三种量化、超过读缓冲区（64KB）的二进制流、
+ * RESP3 映射回复和推送帧、读超时以及回复中途断开。RESP2 场景同时用 Jedis 路径解码同一份回复并逐项比对。
+ * 无需 Redis，直接运行 main 方法，任一校验不通过时抛出 IllegalStateException
+ *
+ * @author tangzq
+ */
+public final class NioTransportCheck {
+
+    /**
+     * 超过 NIO 读缓冲区的向量维度，f32 二进制流约 400KB
+     */
+    private static final int LARGE_DIM = 100_000;
+
+    private static final int VSIM_RESULTS = 500;
+
+    private static final int SOCKET_TIMEOUT_MILLIS = 300;
+
+    private NioTransportCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        checkResp2();
+        checkResp3();
+        System.out.println("NIO 传输层校验全部通过");
+    }
+
+    private static void checkResp2() throws IOException {
+        AtomicBoolean dropVSim = new AtomicBoolean(true);
+        try (ScriptedServer server = new ScriptedServer(command -> resp2Reply(command, dropVSim));
+                RedisVectorClient nio = client(server, RedisProtocol.RESP2, true);
+                RedisVectorClient jedis = client(server, RedisProtocol.RESP2, false)) {
+
+            for (boolean normalized : new boolean[] { false, true }) {
+                float[] expected = new float[LARGE_DIM];
+                float[] actual = new float[LARGE_DIM];
+                check(jedis.vEmbVector("k", "f32", expected, normalized) == LARGE_DIM, "Jedis 路径 f32 维度");
+                check(nio.vEmbVector("k", "f32", actual, normalized) == LARGE_DIM, "NIO f32 维度");
+                check(Arrays.equals(expected, actual), "f32 大向量解码不一致（normalized=" + normalized + "）");
+
+                for (String element : new String[] { "q8", "bin" }) {
+                    expected = new float[16];
+                    actual = new float[16];
+                    int dim = jedis.vEmbVector("k", element, expected, normalized);
+                    check(nio.vEmbVector("k", element, actual, normalized) == dim, element + " 维度不一致");
+                    check(Arrays.equals(expected, actual), element + " 解码不一致（normalized=" + normalized + "）");
+                }
+            }
+            float[] raw = new float[LARGE_DIM];
+            nio.vEmbVector("k", "f32", raw, false);
+            check(raw[LARGE_DIM - 1] == (LARGE_DIM - 1) * 0.001f * 2, "f32 未按范数还原原始尺度");
+            check(nio.vEmbVector("k", "missing", raw, false) == -1, "不存在的元素应返回-1");
+            System.out.println("RESP2 VEMB RAW f32/q8/bin 与 Jedis 路径一致");
+
+            // 第一次回复写出一半后断开，只读命令在新连接上重试，缓冲区不能残留第一次的结果
+            SearchResultBuffer buffer = new SearchResultBuffer();
+            int size = nio.vSim("k", new float[] { 1, 0 }, VSimOptions.create().withScores(true), buffer);
+            check(server.count("VSIM") == 2, "VSIM 断开后应重试一次，实际执行 " + server.count("VSIM") + " 次");
+            check(size == VSIM_RESULTS && buffer.size() == VSIM_RESULTS, "重试后结果数量错误：" + buffer.size());
+            check("item-499".equals(buffer.getId(VSIM_RESULTS - 1)), "重试后结果顺序错误");
+            System.out.println("RESP2 VSIM 中途断开重试后结果完整");
+
+            try {
+                nio.vCard("slow");
+                throw new IllegalStateException("读超时未抛出异常");
+            } catch (RuntimeException e) {
+                check(e.getCause() instanceof JedisConnectionException
+                        && e.getCause().getCause() instanceof SocketTimeoutException,
+                        "读超时应以 SocketTimeoutException 为原因：" + e);
+            }
+            check(server.count("VCARD") == 1, "读超时不应重试，实际执行 " + server.count("VCARD") + " 次");
+            check(nio.vCard("k") == 42, "读超时后连接应被替换");
+            System.out.println("RESP2 读超时不重试");
+        }
+    }
+
+    private static void checkResp3() throws IOException {
+        try (ScriptedServer server = new ScriptedServer(NioTransportCheck::resp3Reply);
+                RedisVectorClient nio = client(server, RedisProtocol.RESP3, true)) {
+
+            check(Boolean.TRUE.equals(nio.vIsMember("k", "e")), "推送帧之后的回复解析错误");
+
+            Map<String, Object> info = nio.vInfoMap("k");
+            check("int8".equals(info.get("quant-type")) && Long.valueOf(10).equals(info.get("size")),
+                    "VINFO 映射解析错误：" + info);
+
+            SimilarityResult result = nio.vSimResult("k", new float[] { 1 },
+                    VSimOptions.create().withScores(true).withAttribs(true));
+            check(result.size() == 2, "VSIM 映射回复数量错误：" + result.size());
+            check("a".equals(result.getId(0)) && result.getScore(0) == 0.9
+                    && "{\"x\":1}".equals(result.getAttributes(0)), "VSIM 映射回复第一项错误");
+            check("b".equals(result.getId(1)) && result.getAttributes(1) == null, "VSIM 映射回复第二项错误");
+
+            float[] vector = new float[2];
+            check(nio.vEmbVector("k", "e", vector, false) == 2 && vector[0] == 3f && vector[1] == 4f,
+                    "RESP3 VEMB 解码错误：" + Arrays.toString(vector));
+            System.out.println("RESP3 映射、推送帧和双精度浮点解析正确");
+        }
+    }
+
+    private static RedisVectorClient client(ScriptedServer server, RedisProtocol protocol, boolean nioTransport) {
+        return RedisVectorClient.builder()
+                .host(InetAddress.getLoopbackAddress().getHostAddress())
+                .port(server.getPort())
+                .database(0)
+                .maxTotal(2)
+                .minIdle(0)
+                .lazy(true)
+                .socketTimeout(SOCKET_TIMEOUT_MILLIS)
+                .protocol(protocol)
+                .nioTransport(nioTransport)
+                .build();
+    }
+
+    private static Reply resp2Reply(List<String> command, AtomicBoolean dropVSim) {
+        Reply reply = new Reply();
+        switch (command.get(0)) {
+        case "VCARD":
+            return "slow".equals(command.get(1)) ? null : reply.text(":42\r\n");
+        case "VSIM": {
+            reply.text("*" + VSIM_RESULTS * 2 + "\r\n");
+            for (int i = 0; i < VSIM_RESULTS; i++) {
+                reply.bulk("item-" + i).bulk(String.valueOf(1.0 - i / 1000.0));
+            }
+            return dropVSim.getAndSet(false) ? reply.truncate() : reply;
+        }
+        case "VEMB":
+            return rawEmbedding(reply, command.get(2), false);
+        default:
+            return reply.text("+OK\r\n");
+        }
+    }
+
+    private static Reply resp3Reply(List<String> command) {
+        Reply reply = new Reply();
+        switch (command.get(0)) {
+        case "HELLO":
+            return reply.text("%2\r\n+server\r\n+redis\r\n+proto\r\n:3\r\n");
+        case "VISMEMBER":
+            return reply.text(">2\r\n+invalidate\r\n*1\r\n").bulk("k").text("#t\r\n");
+        case "VINFO":
+            return reply.text("%2\r\n+quant-type\r\n+int8\r\n+size\r\n:10\r\n");
+        case "VSIM":
+            return reply.text("%2\r\n").bulk("a").text("*2\r\n,0.9\r\n").bulk("{\"x\":1}")
+                    .bulk("b").text("*2\r\n,0.25\r\n_\r\n");
+        case "VEMB":
+            return rawEmbedding(reply, command.get(2), true);
+        default:
+            return reply.text("+OK\r\n");
+        }
+    }
+
+    /**
+     * 编码 VEMB RAW 回复：量化类型、二进制流、范数，Q8 另带量化范围
+     */
+    private static Reply rawEmbedding(Reply reply, String element, boolean resp3) {
+        switch (element) {
+        case "f32": {
+            ByteBuffer blob = ByteBuffer.allocate(LARGE_DIM * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < LARGE_DIM; i++) {
+                blob.putFloat(i * 0.001f);
+            }
+            return reply.text("*3\r\n+f32\r\n").bulk(blob.array()).bulk("2.0");
+        }
+        case "q8":
+            return reply.text("*4\r\n+int8\r\n").bulk(new byte[] { 127, -127, 0, 64, 1, -2, 33, -90 })
+                    .bulk("2").bulk("0.5");
+        case "bin":
+            return reply.text("*3\r\n+bin\r\n").bulk(new byte[] { 0b0101, (byte) 0b11110000 }).bulk("1");
+        case "e": {
+            ByteBuffer blob = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putFloat(0.6f).putFloat(0.8f);
+            return reply.text("*3\r\n+f32\r\n").bulk(blob.array()).text(resp3 ? ",5\r\n" : "$1\r\n5\r\n");
+        }
+        default:
+            return reply.text(resp3 ? "_\r\n" : "*-1\r\n");
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    /**
+     * RESP 回复编码，截断的回复写出后服务端断开连接
+     */
+    private static final class Reply {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private boolean truncated;
+
+        Reply truncate() {
+            truncated = true;
+            return this;
+        }
+
+        Reply text(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        Reply bulk(String value) {
+            return bulk(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Reply bulk(byte[] value) {
+            text("$" + value.length + "\r\n");
+            out.write(value, 0, value.length);
+            return text("\r\n");
+        }
+
+        byte[] toBytes() {
+            byte[] bytes = out.toByteArray();
+            return truncated ? Arrays.copyOf(bytes, bytes.length / 2) : bytes;
+        }
+    }
+
+    /**
+     * 回环服务端：逐条解析 RESP 命令并按脚本回复，记录每种命令的执行次数。
+     * 脚本返回null时不回复（模拟慢命令）
+     */
+    private static final class ScriptedServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final Function<List<String>, Reply> script;
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        ScriptedServer(Function<List<String>, Reply> script) throws IOException {
+            this.script = script;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptLoop, "scripted-reply-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int count(String command) {
+            AtomicInteger count = counts.get(command);
+            return count == null ? 0 : count.get();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread worker = new Thread(() -> serve(socket), "scripted-reply-worker");
+                    worker.setDaemon(true);
+                    worker.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                OutputStream out = s.getOutputStream();
+                while (true) {
+                    List<String> command = readCommand(in);
+                    if (command == null) {
+                        return;
+                    }
+                    String name = command.get(0).toUpperCase();
+                    command.set(0, name);
+                    counts.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+                    Reply reply = script.apply(command);
+                    if (reply == null) {
+                        continue;
+                    }
+                    out.write(reply.toBytes());
+                    out.flush();
+                    if (reply.truncated) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // 客户端断开
+            }
+        }
+
+        private static List<String> readCommand(InputStream in) throws IOException {
+            if (in.read() != '*') {
+                return null;
+            }
+            int args = (int) readLength(in);
+            List<String> command = new ArrayList<>(args);
+            for (int i = 0; i < args; i++) {
+                in.read();
+                int length = (int) readLength(in);
+                byte[] arg = in.readNBytes(length);
+                in.read();
+                in.read();
+                command.add(new String(arg, StandardCharsets.ISO_8859_1));
+            }
+            return command;
+        }
+
+        private static long readLength(InputStream in) throws IOException {
+            long value = 0;
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b < 0) {
+                    throw new IOException("连接已关闭");
+                }
+                value = value * 10 + (b - '0');
+            }
+            in.read();
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
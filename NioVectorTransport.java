@@ -0,0 +1,274 @@
+package com.example.demo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * 基于 NIO 的向量命令传输层
+ * 持有一组 {@link RespConnection}，每个连接自带直接内存读写缓冲区并随连接复用；
+ * 命令按需借用连接，回复由调用方指定的解码器在读缓冲区中原地解析，VSIM 分数与 VEMB 向量不经过 Jedis 的中间对象。
+ * 连接在首次借用时建立，损坏的连接在归还时销毁。选择 RESP3 时以 HELLO 3 握手，VSIM 分数和 VINFO 以原生类型返回
+ *
+ * @author tangzq
+ */
+final class NioVectorTransport implements AutoCloseable {
+
+    /**
+     * 通用解码器，回复形态与 Jedis sendCommand 一致
+     */
+    static final ReplyDecoder<Object> GENERIC = RespConnection::readReply;
+
+    private final String host;
+    private final int port;
+    private final int connectionTimeout;
+    private final int socketTimeout;
+    private final String user;
+    private final String password;
+    private final int database;
+    private final String clientName;
+    private final RedisProtocol protocol;
+    private final long maxWaitMillis;
+    private final int maxTotal;
+
+    private final Semaphore permits;
+    /**
+     * 空闲连接，数组实现的队列在入队时不分配节点
+     */
+    private final BlockingQueue<RespConnection> idle;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    NioVectorTransport(String host, int port, int connectionTimeout, int socketTimeout, String user,
+            String password, int database, String clientName, RedisProtocol protocol, int maxTotal,
+            long maxWaitMillis) {
+        this.host = host;
+        this.port = port;
+        this.connectionTimeout = connectionTimeout;
+        this.socketTimeout = socketTimeout;
+        this.user = user;
+        this.password = password;
+        this.database = database;
+        this.clientName = clientName;
+        this.protocol = protocol;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxTotal = maxTotal;
+        this.permits = new Semaphore(maxTotal);
+        this.idle = new ArrayBlockingQueue<>(maxTotal);
+    }
+
+    /**
+     * 执行命令并用指定解码器读取回复
+     * 服务端错误回复已被完整读取，连接可继续使用；其他异常时回复可能只读了一半，连接标记为损坏
+     *
+     * @param command 命令
+     * @param args 命令参数
+     * @param decoder 回复解码器
+     * @param <T> 返回类型
+     * @return 解码结果
+     */
+    <T> T execute(ProtocolCommand command, byte[][] args, ReplyDecoder<T> decoder) {
+        RespConnection connection = borrow();
+        try {
+            connection.writeCommand(command, args);
+            return decoder.decode(connection);
+
+        } catch (JedisDataException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            connection.markBroken();
+            throw e;
+        } finally {
+            giveBack(connection);
+        }
+    }
+
+    private RespConnection borrow() {
+        if (closed) {
+            throw new IllegalStateException("NIO 传输层已关闭");
+        }
+        long begin = System.nanoTime();
+        try {
+            if (maxWaitMillis < 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new RedisVectorOverloadException("等待 Redis 连接超时：maxWait=" + maxWaitMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JedisException("等待 Redis 连接被中断", e);
+        }
+        recordWait(System.nanoTime() - begin);
+
+        RespConnection connection = idle.poll();
+        if (connection != null) {
+            return connection;
+        }
+        try {
+            connection = connect();
+            created.increment();
+            return connection;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(nanos);
+        long max = maxWaitNanos.get();
+        while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    private void giveBack(RespConnection connection) {
+        if (closed || connection.isBroken()) {
+            connection.close();
+            destroyed.increment();
+        } else {
+            idle.offer(connection);
+        }
+        permits.release();
+    }
+
+    /**
+     * 建立连接并完成协议协商、认证、选库和命名
+     */
+    private RespConnection connect() {
+        RespConnection connection = new RespConnection(host, port, connectionTimeout, socketTimeout);
+        try {
+            if (protocol == RedisProtocol.RESP3) {
+                hello(connection);
+            } else if (password != null) {
+                if (user != null) {
+                    handshake(connection, HandshakeCommand.AUTH, user, password);
+                } else {
+                    handshake(connection, HandshakeCommand.AUTH, password);
+                }
+            }
+            if (database != 0) {
+                handshake(connection, HandshakeCommand.SELECT, String.valueOf(database));
+            }
+            if (clientName != null && protocol != RedisProtocol.RESP3) {
+                handshake(connection, HandshakeCommand.CLIENT, "SETNAME", clientName);
+            }
+            return connection;
+
+        } catch (RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * HELLO 3 一次完成协议切换、认证和命名
+     */
+    private void hello(RespConnection connection) {
+        List<String> args = new ArrayList<>(6);
+        args.add("3");
+        if (password != null) {
+            args.add("AUTH");
+            args.add(user != null ? user : "default");
+            args.add(password);
+        }
+        if (clientName != null) {
+            args.add("SETNAME");
+            args.add(clientName);
+        }
+        handshake(connection, HandshakeCommand.HELLO, args.toArray(new String[0]));
+    }
+
+    private static void handshake(RespConnection connection, HandshakeCommand command, String... args) {
+        byte[][] rawArgs = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            rawArgs[i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        connection.writeCommand(command, rawArgs);
+        connection.readReply();
+    }
+
+    /**
+     * 销毁全部空闲连接，借出中的连接归还时照常复用或销毁
+     */
+    void clear() {
+        RespConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+            destroyed.increment();
+        }
+    }
+
+    /**
+     * 获取 NIO 连接的指标快照，各项含义与 Jedis 连接池指标一致，NIO 传输层不做等待方拒绝
+     */
+    PoolMetrics metrics() {
+        long count = borrowCount.sum();
+        long meanWaitNanos = count == 0 ? 0 : totalWaitNanos.sum() / count;
+        return new PoolMetrics(maxTotal,
+                maxTotal - permits.availablePermits(),
+                idle.size(),
+                permits.getQueueLength(),
+                TimeUnit.NANOSECONDS.toMillis(meanWaitNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                borrowTimeouts.sum(),
+                0,
+                created.sum(),
+                destroyed.sum());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        clear();
+    }
+
+    /**
+     * 回复解码器，在连接的读缓冲区上读取恰好一个完整回复
+     *
+     * @param <T> 解码结果类型
+     */
+    @FunctionalInterface
+    interface ReplyDecoder<T> {
+
+        T decode(RespConnection connection);
+    }
+
+    /**
+     * 建立连接时使用的命令
+     */
+    private enum HandshakeCommand implements ProtocolCommand {
+
+        HELLO,
+        AUTH,
+        SELECT,
+        CLIENT;
+
+        private final byte[] raw = name().getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public byte[] getRaw() {
+            return raw;
+        }
+    }
+}
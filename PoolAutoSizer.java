@@ -0,0 +1,120 @@
+package com.example.demo;
+
+/**
+ * 连接池自动伸缩控制器
+ * 每个评估周期比较本周期的平均借用等待和平均命令耗时：
+ * <ul>
+ * <li>借用等待超过阈值（或存在排队方）且命令耗时未明显高于基线时，说明瓶颈在连接数，按当前大小的 1/4 扩容；</li>
+ * <li>命令耗时明显升高时说明服务端已饱和，增加连接只会加剧排队，不扩容；</li>
+ * <li>连续多个周期借出连接数不足一半且无等待时，按当前大小的 1/8 缩容。</li>
+ * </ul>
+ * minIdle 按初始配置的 minIdle/maxTotal 比例随之调整，夜间低峰时不再保留大量空闲连接
+ *
+ * @author tangzq
+ */
+final class PoolAutoSizer implements Runnable {
+
+    /**
+     * 平均借用等待超过该值视为连接不足
+     */
+    private static final long GROW_WAIT_NANOS = 1_000_000L;
+
+    /**
+     * 命令耗时不超过基线的该倍数视为服务端延迟平稳
+     */
+    private static final double LATENCY_TOLERANCE = 1.5;
+
+    /**
+     * 基线平滑系数，延迟升高时以十分之一的速度跟随，适应负载特征的长期变化
+     */
+    private static final double BASELINE_ALPHA = 0.2;
+
+    /**
+     * 连续空闲多少个周期后缩容
+     */
+    private static final int SHRINK_AFTER_IDLE_PERIODS = 6;
+
+    private final RedisVectorClient client;
+    private final int minTotal;
+    private final int maxTotal;
+    private final double minIdleRatio;
+
+    private long lastBorrowCount;
+    private long lastBorrowWaitNanos;
+    private long lastCommandCount;
+    private long lastCommandNanos;
+    private double baselineLatencyNanos;
+    private int idlePeriods;
+
+    PoolAutoSizer(RedisVectorClient client, int minTotal, int maxTotal, int initialTotal, int initialMinIdle) {
+        this.client = client;
+        this.minTotal = minTotal;
+        this.maxTotal = maxTotal;
+        this.minIdleRatio = (double) initialMinIdle / initialTotal;
+    }
+
+    @Override
+    public void run() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            // 调度线程遇到未捕获异常会停止后续执行，本周期放弃，下个周期重新评估
+        }
+    }
+
+    private void adjust() {
+        ConnectionProvider pool = client.currentPool();
+        if (pool == null || pool.isClosed()) {
+            return;
+        }
+
+        long borrows = client.getBorrowCount() - lastBorrowCount;
+        long waitNanos = client.getBorrowWaitNanos() - lastBorrowWaitNanos;
+        long commands = client.getCommandCount() - lastCommandCount;
+        long commandNanos = client.getCommandNanos() - lastCommandNanos;
+        lastBorrowCount += borrows;
+        lastBorrowWaitNanos += waitNanos;
+        lastCommandCount += commands;
+        lastCommandNanos += commandNanos;
+
+        double meanWaitNanos = borrows == 0 ? 0 : (double) waitNanos / borrows;
+        boolean latencyFlat = true;
+        if (commands > 0) {
+            double latency = (double) commandNanos / commands;
+            if (baselineLatencyNanos == 0) {
+                baselineLatencyNanos = latency;
+            } else {
+                latencyFlat = latency <= baselineLatencyNanos * LATENCY_TOLERANCE;
+                double alpha = latencyFlat ? BASELINE_ALPHA : BASELINE_ALPHA / 10;
+                baselineLatencyNanos += alpha * (latency - baselineLatencyNanos);
+            }
+        }
+
+        int current = pool.getMaxTotal();
+        // 虚拟线程先在许可上排队，连接池满载时等待方主要积压在这里
+        int waiters = pool.getNumWaiters() + client.getPermitWaiters();
+        boolean starving = meanWaitNanos > GROW_WAIT_NANOS || waiters > 0;
+        if (starving) {
+            idlePeriods = 0;
+            if (latencyFlat && current < maxTotal) {
+                resize(Math.min(maxTotal, current + Math.max(1, current / 4)));
+            }
+            return;
+        }
+
+        int busy = pool.getNumActive();
+        if (busy * 2 > current) {
+            idlePeriods = 0;
+            return;
+        }
+        if (++idlePeriods >= SHRINK_AFTER_IDLE_PERIODS && current > minTotal) {
+            idlePeriods = 0;
+            resize(Math.max(minTotal, current - Math.max(1, current / 8)));
+        }
+    }
+
+    private void resize(int total) {
+        int minIdle = Math.min(total, (int) Math.ceil(total * minIdleRatio));
+        client.resizePool(total, minIdle);
+    }
+}
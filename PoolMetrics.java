@@ -0,0 +1,121 @@
+package com.example.demo;
+
+/**
+ * 连接池指标快照
+ * 等待时间来自连接池最近的借用样本，拒绝和超时计数从客户端创建起累计
+ *
+ * @author tangzq
+ */
+public class PoolMetrics {
+
+    private final int maxTotal;
+    private final int active;
+    private final int idle;
+    private final int waiters;
+    private final long meanBorrowWaitMillis;
+    private final long maxBorrowWaitMillis;
+    private final long borrowTimeouts;
+    private final long rejectedBorrows;
+    private final long createdCount;
+    private final long destroyedCount;
+
+    PoolMetrics(int maxTotal, int active, int idle, int waiters, long meanBorrowWaitMillis, long maxBorrowWaitMillis,
+            long borrowTimeouts, long rejectedBorrows, long createdCount, long destroyedCount) {
+        this.maxTotal = maxTotal;
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.meanBorrowWaitMillis = meanBorrowWaitMillis;
+        this.maxBorrowWaitMillis = maxBorrowWaitMillis;
+        this.borrowTimeouts = borrowTimeouts;
+        this.rejectedBorrows = rejectedBorrows;
+        this.createdCount = createdCount;
+        this.destroyedCount = destroyedCount;
+    }
+
+    /**
+     * 连接池最大连接数
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * 已借出的连接数
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * 空闲连接数
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * 正在等待借用连接的调用方数量
+     */
+    public int getWaiters() {
+        return waiters;
+    }
+
+    /**
+     * 借用连接的平均等待毫秒数
+     */
+    public long getMeanBorrowWaitMillis() {
+        return meanBorrowWaitMillis;
+    }
+
+    /**
+     * 借用连接的最大等待毫秒数
+     */
+    public long getMaxBorrowWaitMillis() {
+        return maxBorrowWaitMillis;
+    }
+
+    /**
+     * 等待超过 maxWait 而失败的借用次数
+     */
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    /**
+     * 因等待方超过上限而直接拒绝的借用次数
+     */
+    public long getRejectedBorrows() {
+        return rejectedBorrows;
+    }
+
+    /**
+     * 累计创建的连接数
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * 累计销毁的连接数
+     */
+    public long getDestroyedCount() {
+        return destroyedCount;
+    }
+
+    /**
+     * 连接使用率
+     *
+     * @return 已借出连接数 / 最大连接数，取值范围 [0, 1]
+     */
+    public double getUtilization() {
+        return maxTotal == 0 ? 0 : (double) active / maxTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "连接池指标：maxTotal=" + maxTotal + "，active=" + active + "，idle=" + idle + "，waiters=" + waiters
+                + "，等待(ms) mean=" + meanBorrowWaitMillis + " max=" + maxBorrowWaitMillis + "，超时="
+                + borrowTimeouts + "，拒绝=" + rejectedBorrows + "，创建=" + createdCount + "，销毁=" + destroyedCount;
+    }
+}
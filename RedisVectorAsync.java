@@ -0,0 +1,344 @@
+package com.example.demo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Redis向量异步工具类
+ * 将 {@link RedisVectorClient} 的向量命令提交到指定线程池执行并返回 CompletableFuture，
+ * 多个相互独立的查询可并发发出，总耗时取决于最慢的一次调用而非所有调用之和。
+ * 传入的数组和结果缓冲区在 future 完成前不可修改或读取。
+ *
+ * <p>未提供异步版本的方法：只按 VALUES 编码的 vAdd 重载和字符串形式向量的 vSim 重载，
+ * 分别由带 vectorType 的 vAdd 和 Object 形式的 vSim 覆盖；warmUp、指标和缓存管理方法不涉及网络等待，直接调用客户端即可</p>
+ *
+ * <pre>
+ * RedisVectorAsync async = RedisVectorAsync.create();
+ * CompletableFuture&lt;SimilarityResult&gt; a = async.vSimResult("services", q1, options);
+ * CompletableFuture&lt;SimilarityResult&gt; b = async.vSimResult("services", q2, options);
+ * CompletableFuture.allOf(a, b).join();
+ * </pre>
+ *
+ * @author tangzq
+ */
+public class RedisVectorAsync {
+
+    private final RedisVectorClient client;
+    private final Executor executor;
+
+    private RedisVectorAsync(RedisVectorClient client, Executor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * 使用默认线程池创建异步工具，线程数与默认客户端的连接数上限一致，更多线程只会在借用连接时排队
+     *
+     * @return 异步工具
+     */
+    public static RedisVectorAsync create() {
+        return new RedisVectorAsync(RedisVectorUtil.defaultClient(), DefaultExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * 使用指定线程池创建异步工具
+     *
+     * @param executor 执行命令的线程池，线程数不宜超过连接池 maxTotal
+     * @return 异步工具
+     */
+    public static RedisVectorAsync create(Executor executor) {
+        return create(RedisVectorUtil.defaultClient(), executor);
+    }
+
+    /**
+     * 使用指定客户端和线程池创建异步工具
+     *
+     * @param client 向量客户端
+     * @param executor 执行命令的线程池，线程数不宜超过客户端连接池 maxTotal
+     * @return 异步工具
+     */
+    public static RedisVectorAsync create(RedisVectorClient client, Executor executor) {
+        if (client == null) {
+            throw new IllegalArgumentException("向量客户端不可为空");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("异步执行线程池不可为空");
+        }
+        return new RedisVectorAsync(client, executor);
+    }
+
+    /**
+     * 使用虚拟线程创建异步工具，每个命令在独立的虚拟线程中执行（需要 JDK 21）
+     * 虚拟线程借用连接前会先在信号量上等待，不会因连接池排队而占用载体线程
+     *
+     * @return 异步工具
+     * @throws UnsupportedOperationException JDK 不支持虚拟线程
+     */
+    public static RedisVectorAsync createVirtual() {
+        return createVirtual(RedisVectorUtil.defaultClient());
+    }
+
+    /**
+     * 使用指定客户端和虚拟线程创建异步工具（需要 JDK 21）
+     *
+     * @param client 向量客户端
+     * @return 异步工具
+     * @throws UnsupportedOperationException JDK 不支持虚拟线程
+     */
+    public static RedisVectorAsync createVirtual(RedisVectorClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("向量客户端不可为空");
+        }
+        if (!VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException("当前 JDK 不支持虚拟线程，需要 JDK 21 及以上版本");
+        }
+        return new RedisVectorAsync(client, VirtualExecutorHolder.EXECUTOR);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> command) {
+        return CompletableFuture.supplyAsync(command, executor);
+    }
+
+    /**
+     * 异步添加向量元素，参见 {@link RedisVectorClient#vAdd(String, int, float[], String)}
+     */
+    public CompletableFuture<Long> vAdd(String key, int dim, float[] vector, String element) {
+        return submit(() -> client.vAdd(key, dim, vector, element));
+    }
+
+    /**
+     * 异步添加向量元素，参见
+     * {@link RedisVectorClient#vAdd(String, String, int, float[], String, Integer, String, Boolean, Integer, String, Integer)}
+     */
+    public CompletableFuture<Long> vAdd(String key, String vectorType, int dim, float[] vector, String element,
+            Integer reduceDim, String quantType, Boolean cas, Integer ef, String attributes, Integer m) {
+        return submit(() -> client.vAdd(key,
+                vectorType,
+                dim,
+                vector,
+                element,
+                reduceDim,
+                quantType,
+                cas,
+                ef,
+                attributes,
+                m));
+    }
+
+    /**
+     * 异步批量添加向量元素，参见 {@link RedisVectorClient#vAddBatch(String, Iterable)}
+     */
+    public CompletableFuture<VAddBatchResult> vAddBatch(String key, Iterable<VectorRecord> records) {
+        return submit(() -> client.vAddBatch(key, records));
+    }
+
+    /**
+     * 异步批量添加向量元素，参见 {@link RedisVectorClient#vAddBatch(String, Iterable, String, int, long)}
+     */
+    public CompletableFuture<VAddBatchResult> vAddBatch(String key, Iterable<VectorRecord> records, String quantType,
+            int flushCommands, long flushBytes) {
+        return submit(() -> client.vAddBatch(key, records, quantType, flushCommands, flushBytes));
+    }
+
+    /**
+     * 异步根据元素标识符搜索，参见 {@link RedisVectorClient#vSimByElement(String, String)}
+     */
+    public CompletableFuture<List<String>> vSimByElement(String key, String element) {
+        return submit(() -> client.vSimByElement(key, element));
+    }
+
+    /**
+     * 异步向量相似度搜索，参见
+     * {@link RedisVectorClient#vSim(String, String, Object, String, boolean, boolean, Integer, Float, Integer, Integer, Boolean)}
+     */
+    public CompletableFuture<List<String>> vSim(String key, String vectorType, Object vectorOrElement, String filter,
+            boolean withScores, boolean withAttribs, Integer count, Float epsilon, Integer ef, Integer filterEf,
+            Boolean truth) {
+        return submit(() -> client.vSim(key,
+                vectorType,
+                vectorOrElement,
+                filter,
+                withScores,
+                withAttribs,
+                count,
+                epsilon,
+                ef,
+                filterEf,
+                truth));
+    }
+
+    /**
+     * 异步向量相似度搜索，参见 {@link RedisVectorClient#vSim(String, float[], VSimOptions)}
+     */
+    public CompletableFuture<List<String>> vSim(String key, float[] query, VSimOptions options) {
+        return submit(() -> client.vSim(key, query, options));
+    }
+
+    /**
+     * 异步向量相似度搜索，参见 {@link RedisVectorClient#vSimResult(String, float[], VSimOptions)}
+     */
+    public CompletableFuture<SimilarityResult> vSimResult(String key, float[] query, VSimOptions options) {
+        return submit(() -> client.vSimResult(key, query, options));
+    }
+
+    /**
+     * 异步向量相似度搜索，结果写入调用方提供的缓冲区，参见
+     * {@link RedisVectorClient#vSim(String, float[], VSimOptions, SearchResultBuffer)}
+     */
+    public CompletableFuture<Integer> vSim(String key, float[] query, VSimOptions options, SearchResultBuffer dst) {
+        return submit(() -> client.vSim(key, query, options, dst));
+    }
+
+    /**
+     * 异步向量相似度搜索，访问器在执行命令的线程上回调，参见
+     * {@link RedisVectorClient#vSim(String, float[], VSimOptions, SearchResultVisitor)}
+     */
+    public CompletableFuture<Integer> vSim(String key, float[] query, VSimOptions options,
+            SearchResultVisitor visitor) {
+        return submit(() -> client.vSim(key, query, options, visitor));
+    }
+
+    /**
+     * 异步批量向量相似度搜索，参见 {@link RedisVectorClient#vSimBatch(String, float[][], VSimOptions)}
+     */
+    public CompletableFuture<SimilarityBatchResult> vSimBatch(String key, float[][] queries, VSimOptions options) {
+        return submit(() -> client.vSimBatch(key, queries, options));
+    }
+
+    /**
+     * 异步批量向量相似度搜索（多连接管道模式），参见
+     * {@link RedisVectorClient#vSimBatch(String, float[][], VSimOptions, int)}
+     */
+    public CompletableFuture<SimilarityBatchResult> vSimBatch(String key, float[][] queries, VSimOptions options,
+            int connections) {
+        return submit(() -> client.vSimBatch(key, queries, options, connections));
+    }
+
+    /**
+     * 异步根据元素标识符搜索，参见 {@link RedisVectorClient#vSimResultByElement(String, String, VSimOptions)}
+     */
+    public CompletableFuture<SimilarityResult> vSimResultByElement(String key, String element, VSimOptions options) {
+        return submit(() -> client.vSimResultByElement(key, element, options));
+    }
+
+    /**
+     * 异步获取向量索引维度，参见 {@link RedisVectorClient#vDim(String)}
+     */
+    public CompletableFuture<Integer> vDim(String key) {
+        return submit(() -> client.vDim(key));
+    }
+
+    /**
+     * 异步获取元素数量，参见 {@link RedisVectorClient#vCard(String)}
+     */
+    public CompletableFuture<Long> vCard(String key) {
+        return submit(() -> client.vCard(key));
+    }
+
+    /**
+     * 异步删除元素，参见 {@link RedisVectorClient#vRem(String, String)}
+     */
+    public CompletableFuture<Long> vRem(String key, String element) {
+        return submit(() -> client.vRem(key, element));
+    }
+
+    /**
+     * 异步检查元素是否存在，参见 {@link RedisVectorClient#vIsMember(String, String)}
+     */
+    public CompletableFuture<Boolean> vIsMember(String key, String element) {
+        return submit(() -> client.vIsMember(key, element));
+    }
+
+    /**
+     * 异步获取向量嵌入，参见 {@link RedisVectorClient#vEmb(String, String, boolean)}
+     */
+    public CompletableFuture<List<String>> vEmb(String key, String element, boolean raw) {
+        return submit(() -> client.vEmb(key, element, raw));
+    }
+
+    /**
+     * 异步获取向量嵌入（RAW 二进制模式），参见 {@link RedisVectorClient#vEmbVector(String, String)}
+     */
+    public CompletableFuture<float[]> vEmbVector(String key, String element) {
+        return submit(() -> client.vEmbVector(key, element));
+    }
+
+    /**
+     * 异步获取向量嵌入并写入调用方提供的缓冲区，参见
+     * {@link RedisVectorClient#vEmbVector(String, String, float[], boolean)}
+     */
+    public CompletableFuture<Integer> vEmbVector(String key, String element, float[] dst, boolean normalized) {
+        return submit(() -> client.vEmbVector(key, element, dst, normalized));
+    }
+
+    /**
+     * 异步设置元素属性，参见 {@link RedisVectorClient#vSetAttr(String, String, String)}
+     */
+    public CompletableFuture<Long> vSetAttr(String key, String element, String attributes) {
+        return submit(() -> client.vSetAttr(key, element, attributes));
+    }
+
+    /**
+     * 异步获取元素属性，参见 {@link RedisVectorClient#vGetAttr(String, String)}
+     */
+    public CompletableFuture<String> vGetAttr(String key, String element) {
+        return submit(() -> client.vGetAttr(key, element));
+    }
+
+    /**
+     * 异步按范围获取元素，参见 {@link RedisVectorClient#vRange(String, String, String, int)}
+     */
+    public CompletableFuture<List<String>> vRange(String key, String start, String end, int count) {
+        return submit(() -> client.vRange(key, start, end, count));
+    }
+
+    /**
+     * 异步随机获取元素，参见 {@link RedisVectorClient#vRandMember(String, int)}
+     */
+    public CompletableFuture<List<String>> vRandMember(String key, int count) {
+        return submit(() -> client.vRandMember(key, count));
+    }
+
+    /**
+     * 异步获取向量索引信息，参见 {@link RedisVectorClient#vInfo(String)}
+     */
+    public CompletableFuture<List<String>> vInfo(String key) {
+        return submit(() -> client.vInfo(key));
+    }
+
+    /**
+     * 异步获取键值形式的向量索引信息，参见 {@link RedisVectorClient#vInfoMap(String)}
+     */
+    public CompletableFuture<Map<String, Object>> vInfoMap(String key) {
+        return submit(() -> client.vInfoMap(key));
+    }
+
+    /**
+     * 默认线程池，首次使用时创建，线程为守护线程
+     */
+    private static final class DefaultExecutorHolder {
+
+        private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors
+                .newFixedThreadPool(RedisVectorUtil.defaultClient().getMaxConnections(), runnable -> {
+                    Thread thread = new Thread(runnable, "redis-vector-async-" + THREAD_SEQ.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 虚拟线程线程池，首次使用时创建
+     */
+    private static final class VirtualExecutorHolder {
+
+        private static final ExecutorService EXECUTOR = VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,2172 @@
+package com.example.demo;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Redis向量客户端
+ * 每个实例持有独立的连接池，可按业务场景（如低延迟搜索与批量导入）分别配置池大小、超时、数据库和认证信息。
+ * {@link RedisVectorUtil} 的静态方法委托给一个默认实例
+ *
+ * <pre>
+ * RedisVectorClient searchClient = RedisVectorClient.builder()
+ *         .host("127.0.0.1").port(16379).database(2)
+ *         .maxTotal(64).minIdle(16).socketTimeout(500)
+ *         .build();
+ * </pre>
+ *
+ * @author tangzq
+ */
+public class RedisVectorClient implements AutoCloseable {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    private static final int DEFAULT_BATCH_FLUSH_COMMANDS = 1000;
+    private static final long DEFAULT_BATCH_FLUSH_BYTES = 4L * 1024 * 1024;
+    private static final int BATCH_SIM_FLUSH_QUERIES = 256;
+
+    private static final int CODEC_WARMUP_DIM = 128;
+    private static final int CODEC_WARMUP_ITERATIONS = 20_000;
+
+    /**
+     * 访问器形式的 vSim 使用的线程内结果缓冲区
+     */
+    private static final ThreadLocal<SearchResultBuffer> SEARCH_BUFFER = ThreadLocal
+            .withInitial(SearchResultBuffer::new);
+
+    private final Supplier<ConnectionProvider> poolFactory;
+    private final int maxTotal;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final int maxWaiters;
+
+    /**
+     * 命令合并器，未启用时为null
+     */
+    private final CommandCoalescer coalescer;
+
+    /**
+     * NIO 传输层，未启用时为null
+     */
+    private final NioVectorTransport nioTransport;
+
+    /**
+     * VSIM 结果缓存，未启用时为null
+     */
+    private final VSimCache vSimCache;
+
+    /**
+     * VSIM 语义查询缓存，未启用时为null
+     */
+    private final SemanticQueryCache semanticCache;
+
+    /**
+     * 按键失效的全部客户端缓存（结果缓存、语义缓存和本地镜像），本地写入和键空间通知均通过它触发失效
+     */
+    private final List<KeyedResultCache> resultCaches = new CopyOnWriteArrayList<>();
+    private final KeyspaceNotificationListener keyspaceListener;
+
+    private final int autoSizeMinTotal;
+    private final int autoSizeMaxTotal;
+    private final long autoSizeIntervalMillis;
+
+    private final AtomicInteger borrowers = new AtomicInteger();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder rejectedBorrows = new LongAdder();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAdder commandNanos = new LongAdder();
+
+    /**
+     * 连接池，延迟初始化模式下首次执行命令时创建
+     */
+    private volatile ConnectionProvider connectionPool;
+    private boolean closed;
+    private ScheduledExecutorService autoSizeScheduler;
+
+    /**
+     * 虚拟线程借用连接的许可，数量与连接池 maxTotal 一致。
+     * 虚拟线程在 j.u.c 信号量上等待不会占用载体线程，拿到许可后才进入连接池和套接字读写，
+     * 持有许可的虚拟线程都能立即借到连接，不会在 commons-pool 内部排队。
+     * 不按 CPU 核数设置：许可覆盖整个网络往返，按核数限制会把并发命令数压到核数以下，吞吐随 RTT 下降；
+     * 而 Jedis 的 synchronized 代码段只做内存操作，阻塞式套接字读写不在其中，钉住载体线程的时间很短
+     */
+    private final ResizableSemaphore virtualThreadPermits;
+
+    private RedisVectorClient(Builder builder) {
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(builder.maxTotal);
+        // 自动伸缩时空闲连接的回收交给伸缩控制器和后台校验
+        poolConfig.setMaxIdle(builder.autoSizeMaxTotal > 0 ? builder.maxTotal : builder.maxIdle);
+        poolConfig.setMinIdle(builder.minIdle);
+        poolConfig.setTestOnBorrow(builder.healthStrategy == ConnectionHealthStrategy.ON_BORROW);
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setTimeBetweenEvictionRuns(Duration.ofMillis(builder.idleValidationIntervalMillis));
+        poolConfig.setMinEvictableIdleDuration(Duration.ofMillis(builder.minEvictableIdleMillis));
+        // 每轮校验全部空闲连接，保证一个校验周期后不再残留失效连接
+        poolConfig.setNumTestsPerEvictionRun(-1);
+        poolConfig.setBlockWhenExhausted(true);
+        poolConfig.setMaxWait(Duration.ofMillis(builder.maxWaitMillis));
+
+        String host = builder.host;
+        int port = builder.port;
+        int connectionTimeout = builder.connectionTimeout;
+        int socketTimeout = builder.socketTimeout;
+        String user = builder.user;
+        String password = builder.password;
+        int database = builder.database;
+        String clientName = builder.clientName;
+        // RESP2 时不设置协议，连接建立时不发送 HELLO
+        JedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
+                .connectionTimeoutMillis(connectionTimeout)
+                .socketTimeoutMillis(socketTimeout)
+                .user(user)
+                .password(password)
+                .database(database)
+                .clientName(clientName)
+                .protocol(builder.protocol == RedisProtocol.RESP3 ? RedisProtocol.RESP3 : null)
+                .build();
+        if (builder.striped) {
+            int maxTotal = builder.maxTotal;
+            int capacity = Math.max(builder.maxTotal, builder.autoSizeMaxTotal);
+            long maxWaitMillis = builder.maxWaitMillis;
+            boolean pingOnBorrow = builder.healthStrategy == ConnectionHealthStrategy.ON_BORROW;
+            this.poolFactory = () -> new StripedConnectionPool(new HostAndPort(host, port),
+                    clientConfig,
+                    maxTotal,
+                    capacity,
+                    maxWaitMillis,
+                    pingOnBorrow);
+        } else {
+            this.poolFactory = () -> new JedisPoolConnectionProvider(new JedisPool(poolConfig,
+                    new HostAndPort(host, port),
+                    clientConfig));
+        }
+        this.maxTotal = builder.maxTotal;
+        this.minIdle = builder.minIdle;
+        this.maxWaitMillis = builder.maxWaitMillis;
+        this.maxWaiters = builder.maxWaiters;
+        this.autoSizeMinTotal = builder.autoSizeMinTotal;
+        this.autoSizeMaxTotal = builder.autoSizeMaxTotal;
+        this.autoSizeIntervalMillis = builder.autoSizeIntervalMillis;
+        this.virtualThreadPermits = new ResizableSemaphore(builder.maxTotal);
+        // 写出线程在取到第一条命令后才借用连接，不影响延迟初始化
+        this.coalescer = builder.coalescingWriters > 0
+                ? new CommandCoalescer(this,
+                        builder.coalescingWriters,
+                        builder.socketTimeout + Math.max(0, builder.maxWaitMillis))
+                : null;
+        this.nioTransport = builder.nioTransport
+                ? new NioVectorTransport(host,
+                        port,
+                        connectionTimeout,
+                        socketTimeout,
+                        user,
+                        password,
+                        database,
+                        clientName,
+                        builder.protocol,
+                        builder.maxTotal,
+                        builder.maxWaitMillis)
+                : null;
+        this.vSimCache = builder.vSimCacheSize > 0 ? new VSimCache(builder.vSimCacheSize, builder.vSimCacheTtlMillis)
+                : null;
+        this.semanticCache = builder.semanticCacheSize > 0
+                ? new SemanticQueryCache(builder.semanticCacheSize, builder.semanticCacheMinSimilarity,
+                        builder.vSimCacheTtlMillis)
+                : null;
+        if (vSimCache != null) {
+            resultCaches.add(vSimCache);
+        }
+        if (semanticCache != null) {
+            resultCaches.add(semanticCache);
+        }
+        this.keyspaceListener = builder.keyspaceNotifications
+                ? new KeyspaceNotificationListener(new HostAndPort(host, port), clientConfig, database, resultCaches)
+                : null;
+        if (keyspaceListener != null) {
+            keyspaceListener.start();
+        }
+        if (!builder.lazy) {
+            this.connectionPool = poolFactory.get();
+            startAutoSizer();
+        }
+    }
+
+    /**
+     * 创建客户端构建器
+     *
+     * @return 客户端构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 执行原始Redis命令
+     * 连接异常时 Jedis 将损坏的连接销毁而非归还，其余空闲连接由借用时的校验和空闲检测处理；
+     * 只读命令随后在新连接上重试一次。写命令可能已在服务端生效，读超时说明服务端正忙或命令本身过慢，
+     * 重试只会加重负载，这两种情况都不重试
+     *
+     * @param command 向量命令
+     * @param args 命令参数缓冲区，命令写出后释放
+     * @param <T> 返回类型
+     * @return 命令执行结果
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeRawCommand(VectorCommand command, CommandArgs args) {
+        if (coalescer != null) {
+            return executeCoalesced(command, args);
+        }
+        if (nioTransport != null) {
+            return (T) executeNio(command, args, NioVectorTransport.GENERIC);
+        }
+        boolean permitted = acquireVirtualThreadPermit();
+        try {
+            byte[][] rawArgs = args.toArray();
+            try {
+                return (T) sendCommand(command, rawArgs);
+            } catch (JedisConnectionException e) {
+                if (!isRetryable(command, e)) {
+                    throw e;
+                }
+                return (T) sendCommand(command, rawArgs);
+            }
+
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 命令失败：command=" + command, e);
+        } finally {
+            args.release();
+            if (permitted) {
+                virtualThreadPermits.release();
+            }
+        }
+    }
+
+    /**
+     * 连接异常后是否重试：只重试只读命令，且读超时不重试
+     */
+    private static boolean isRetryable(VectorCommand command, JedisConnectionException e) {
+        return command.isReadOnly() && !(e.getCause() instanceof SocketTimeoutException);
+    }
+
+    /**
+     * 通过命令合并器执行命令，调用方只等待回复而不占用连接，因此无需虚拟线程许可
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeCoalesced(VectorCommand command, CommandArgs args) {
+        try {
+            byte[][] rawArgs = args.toOwnedArray();
+            try {
+                return (T) coalescer.execute(command, rawArgs);
+            } catch (JedisConnectionException e) {
+                if (!isRetryable(command, e)) {
+                    throw e;
+                }
+                return (T) coalescer.execute(command, rawArgs);
+            }
+
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 命令失败：command=" + command, e);
+        } finally {
+            args.release();
+        }
+    }
+
+    /**
+     * 通过 NIO 传输层执行命令，回复由解码器在读缓冲区中直接解析；连接异常的处理与 {@link #executeRawCommand} 一致
+     */
+    private <T> T executeNio(VectorCommand command, CommandArgs args, NioVectorTransport.ReplyDecoder<T> decoder) {
+        try {
+            byte[][] rawArgs = args.toArray();
+            try {
+                return executeNio(command, rawArgs, decoder);
+            } catch (JedisConnectionException e) {
+                if (!isRetryable(command, e)) {
+                    throw e;
+                }
+                return executeNio(command, rawArgs, decoder);
+            }
+
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 命令失败：command=" + command, e);
+        } finally {
+            args.release();
+        }
+    }
+
+    private <T> T executeNio(VectorCommand command, byte[][] rawArgs, NioVectorTransport.ReplyDecoder<T> decoder) {
+        long begin = System.nanoTime();
+        T reply = nioTransport.execute(command, rawArgs, decoder);
+        commandNanos.add(System.nanoTime() - begin);
+        commandCount.increment();
+        return reply;
+    }
+
+    private Object sendCommand(VectorCommand command, byte[][] rawArgs) {
+        try (Jedis jedis = getResource()) {
+            long begin = System.nanoTime();
+            Object reply = jedis.sendCommand(command, rawArgs);
+            commandNanos.add(System.nanoTime() - begin);
+            commandCount.increment();
+            return reply;
+        }
+    }
+
+    /**
+     * 获取连接池，延迟初始化模式下首次调用时创建
+     */
+    private ConnectionProvider pool() {
+        ConnectionProvider pool = connectionPool;
+        if (pool == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Redis向量客户端已关闭");
+                }
+                pool = connectionPool;
+                if (pool == null) {
+                    pool = poolFactory.get();
+                    connectionPool = pool;
+                    startAutoSizer();
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * 预热客户端：并行建立 minIdle 个连接并各发送一次 PING，再反复执行向量编码、命令参数构建和回复解析，
+     * 促使这些热点路径在真实请求到达前完成 JIT 编译。服务实例应在标记就绪前调用
+     *
+     * @return 预热后连接池中的空闲连接数
+     */
+    public int warmUp() {
+        ConnectionProvider pool = pool();
+        int connections = Math.max(1, minIdle);
+        CountDownLatch borrowed = new CountDownLatch(connections);
+        RuntimeException[] failures = new RuntimeException[connections];
+        Thread[] threads = new Thread[connections];
+        for (int i = 0; i < connections; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                Jedis jedis = null;
+                try {
+                    jedis = getResource();
+                    jedis.ping();
+                } catch (RuntimeException e) {
+                    failures[index] = e;
+                } finally {
+                    // 全部线程借到连接后再统一归还，保证建立的是不同的连接
+                    borrowed.countDown();
+                    try {
+                        borrowed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (jedis != null) {
+                        jedis.close();
+                    }
+                }
+            }, "redis-vector-warmup-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("预热 Redis 连接被中断", e);
+        }
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                throw new RuntimeException("预热 Redis 连接失败", failure);
+            }
+        }
+
+        primeCodecPaths();
+        return pool.getNumIdle();
+    }
+
+    /**
+     * 以固定输入反复执行编码和解析路径
+     */
+    private static void primeCodecPaths() {
+        float[] vector = new float[CODEC_WARMUP_DIM];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (i - CODEC_WARMUP_DIM / 2) / (float) CODEC_WARMUP_DIM;
+        }
+        List<byte[]> embReply = Arrays.asList("f32".getBytes(charset),
+                VectorCodec.toFp32Blob(vector),
+                "1.2345678".getBytes(charset));
+        List<byte[]> simReply = Arrays.asList("warmup".getBytes(charset),
+                "0.987654321".getBytes(charset),
+                "{\"warmup\":true}".getBytes(charset));
+        VSimOptions options = VSimOptions.create().withScores(true).withAttribs(true).count(10);
+        float[] dst = new float[CODEC_WARMUP_DIM];
+
+        for (int i = 0; i < CODEC_WARMUP_ITERATIONS; i++) {
+            CommandArgs args = CommandArgs.begin();
+            args.addKey("warmup");
+            appendQueryVector(args, vector, true);
+            appendSimOptions(args, options);
+            args.toArray();
+            args.release();
+
+            VectorCodec.decodeRawEmbedding(embReply, CODEC_WARMUP_DIM, dst, false);
+            SimilarityResult.fromReply(simReply, true, true).getScore(0);
+        }
+    }
+
+    /**
+     * 虚拟线程在借用连接前先获取许可，等待时间与借用连接共用 maxWait 上限，平台线程直接返回
+     *
+     * @return 是否获取了许可，获取后必须释放
+     */
+    private boolean acquireVirtualThreadPermit() {
+        if (!VirtualThreads.isVirtual(Thread.currentThread())) {
+            return false;
+        }
+        try {
+            if (maxWaitMillis < 0) {
+                virtualThreadPermits.acquire();
+            } else if (!virtualThreadPermits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new RedisVectorOverloadException("等待 Redis 连接超时：maxWait=" + maxWaitMillis + "ms");
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待 Redis 连接被中断", e);
+        }
+    }
+
+    /**
+     * 向向量索引中添加向量元素
+     *
+     * @param key 向量索引的键名
+     * @param dim 向量维度
+     * @param vector 向量数据数组
+     * @param element 元素标识符
+     * @return 成功添加返回1，失败返回0
+     */
+    public Long vAdd(String key, int dim, float[] vector, String element) {
+        return vAdd(key, dim, vector, element, null, null, null, null, null, null);
+    }
+
+    /**
+     * 向向量索引中添加向量元素
+     *
+     * @param key 向量索引的键名
+     * @param dim 向量维度
+     * @param vector 向量数据数组
+     * @param element 元素标识符
+     * @param reduceDim 降维后的维度大小
+     * @param quantType 量化类型：NOQUANT/Q8/BIN
+     * @param cas 是否进行CAS检查
+     * @param ef 搜索时的ef参数
+     * @param attributes 元素属性信息
+     * @param m HNSW算法的M参数
+     * @return 成功添加返回1，失败返回0
+     */
+    public Long vAdd(String key, int dim, float[] vector, String element, Integer reduceDim, String quantType,
+            Boolean cas, Integer ef, String attributes, Integer m) {
+        return vAdd(key, "VALUES", dim, vector, element, reduceDim, quantType, cas, ef, attributes, m);
+    }
+
+    /**
+     * 向向量索引中添加向量元素
+     *
+     * @param key 向量索引的键名
+     * @param vectorType 向量编码方式：VALUES（逐分量文本）/FP32（小端序二进制流，推荐）
+     * @param dim 向量维度
+     * @param vector 向量数据数组
+     * @param element 元素标识符
+     * @param reduceDim 降维后的维度大小
+     * @param quantType 量化类型：NOQUANT/Q8/BIN
+     * @param cas 是否进行CAS检查
+     * @param ef 搜索时的ef参数
+     * @param attributes 元素属性信息
+     * @param m HNSW算法的M参数
+     * @return 成功添加返回1，失败返回0
+     */
+    public Long vAdd(String key, String vectorType, int dim, float[] vector, String element, Integer reduceDim,
+            String quantType, Boolean cas, Integer ef, String attributes, Integer m) {
+        if (key == null || key.isEmpty() || vector == null || vector.length != dim || element == null) {
+            throw new IllegalArgumentException(
+                    "VADD 必填参数非法：key/vector/element 不可为空，vector长度需等于dim（当前dim=" + dim + ", vector长度=" + (
+                            vector == null ? 0 : vector.length) + "）");
+        }
+        if (!"VALUES".equals(vectorType) && !"FP32".equals(vectorType)) {
+            throw new IllegalArgumentException("VADD vectorType 非法：仅支持 VALUES/FP32（当前值=" + vectorType + "）");
+        }
+
+        CommandArgs args = buildVAddArgs(key, vectorType, vector, element, reduceDim, quantType, cas, ef, attributes, m);
+        try {
+            Object result = executeRawCommand(VectorCommand.VADD, args);
+            return VectorCodec.toLong(result);
+        } finally {
+            invalidateVSimCache(key);
+        }
+    }
+
+    /**
+     * 构建 VADD 命令参数
+     */
+    private static CommandArgs buildVAddArgs(String key, String vectorType, float[] vector, String element,
+            Integer reduceDim, String quantType, Boolean cas, Integer ef, String attributes, Integer m) {
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+
+        if (reduceDim != null && reduceDim > 0) {
+            args.add(VectorKeyword.REDUCE);
+            args.add(reduceDim);
+        }
+
+        if ("FP32".equals(vectorType)) {
+            // 整个向量打包为一个小端序二进制参数，使用参数缓冲区内复用的数组，命令写出后即可覆盖
+            args.add(VectorKeyword.FP32);
+            args.addFp32(vector);
+        } else {
+            args.add(VectorKeyword.VALUES);
+            args.add(vector.length);
+
+            for (float f : vector) {
+                args.add(f);
+            }
+        }
+
+        args.add(element);
+
+        if ("NOQUANT".equals(quantType)) {
+            args.add(VectorKeyword.NOQUANT);
+        } else if ("Q8".equals(quantType)) {
+            args.add(VectorKeyword.Q8);
+        } else if ("BIN".equals(quantType)) {
+            args.add(VectorKeyword.BIN);
+        }
+        if (cas != null && cas) {
+            args.add(VectorKeyword.CAS);
+        }
+        if (ef != null && ef > 0) {
+            args.add(VectorKeyword.EF);
+            args.add(ef);
+        }
+        if (attributes != null && !attributes.isEmpty()) {
+            args.add(VectorKeyword.SETATTR);
+            args.add(attributes);
+        }
+        if (m != null && m > 0) {
+            args.add(VectorKeyword.M);
+            args.add(m);
+        }
+        return args;
+    }
+
+    /**
+     * 批量添加向量元素（管道模式）
+     * 使用默认刷新窗口：每1000条命令或每4MB数据刷新一次
+     *
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @return 按输入顺序记录的写入结果
+     */
+    public VAddBatchResult vAddBatch(String key, Iterable<VectorRecord> records) {
+        return vAddBatch(key, records, null, DEFAULT_BATCH_FLUSH_COMMANDS, DEFAULT_BATCH_FLUSH_BYTES);
+    }
+
+    /**
+     * 批量添加向量元素（管道模式）
+     * 在同一连接上以 FP32 编码连续写出 VADD 命令，达到刷新窗口后统一读取回复，
+     * 单个元素的错误回复记录在结果中，不影响其他元素
+     *
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @param quantType 量化类型：NOQUANT/Q8/BIN，为null时使用服务端默认值
+     * @param flushCommands 每批最多命令数
+     * @param flushBytes 每批最多参数字节数
+     * @return 按输入顺序记录的写入结果
+     */
+    public VAddBatchResult vAddBatch(String key, Iterable<VectorRecord> records, String quantType,
+            int flushCommands, long flushBytes) {
+        if (key == null || key.isEmpty() || records == null) {
+            throw new IllegalArgumentException("VADD 批量写入参数非法：key/records 不可为空");
+        }
+        if (flushCommands <= 0 || flushBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "VADD 批量写入刷新窗口非法（flushCommands=" + flushCommands + ", flushBytes=" + flushBytes + "）");
+        }
+
+        VAddBatchResult batchResult = new VAddBatchResult();
+        List<Response<Object>> window = new ArrayList<>(Math.min(flushCommands, 4096));
+        long windowBytes = 0;
+
+        boolean permitted = acquireVirtualThreadPermit();
+        try (Jedis jedis = getResource(); Pipeline pipeline = jedis.pipelined()) {
+            for (VectorRecord record : records) {
+                windowBytes += pipelineVAdd(pipeline, key, record, quantType, window);
+
+                if (window.size() >= flushCommands || windowBytes >= flushBytes) {
+                    pipeline.sync();
+                    collectBatchResponses(window, batchResult);
+                    windowBytes = 0;
+                }
+            }
+            pipeline.sync();
+            collectBatchResponses(window, batchResult);
+
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 批量命令失败：command=VADD，已确认=" + batchResult.size(), e);
+        } finally {
+            invalidateVSimCache(key);
+            if (permitted) {
+                virtualThreadPermits.release();
+            }
+        }
+        return batchResult;
+    }
+
+    /**
+     * 向管道写出一条 VADD 命令（FP32 编码）
+     *
+     * @param pipeline 管道
+     * @param key 向量索引的键名
+     * @param record 向量元素
+     * @param quantType 量化类型，为null时使用服务端默认值
+     * @param window 当前刷新窗口，写出的回复依次追加
+     * @return 本条命令的参数字节数
+     */
+    static long pipelineVAdd(Pipeline pipeline, String key, VectorRecord record, String quantType,
+            List<Response<Object>> window) {
+        float[] vector = record.getVector();
+        if (record.getElement() == null || vector == null || vector.length == 0) {
+            throw new IllegalArgumentException("VADD 批量写入元素非法：element/vector 不可为空（element=" + record.getElement() + "）");
+        }
+
+        CommandArgs args = buildVAddArgs(key, "FP32", vector, record.getElement(), null, quantType, null, null,
+                record.getAttributes(), null);
+        try {
+            long bytes = args.byteSize();
+            window.add(pipeline.sendCommand(VectorCommand.VADD, args.toArray()));
+            return bytes;
+        } finally {
+            args.release();
+        }
+    }
+
+    /**
+     * 读取刷新窗口内的回复并清空窗口，需在管道 sync 之后调用
+     */
+    static void collectBatchResponses(List<Response<Object>> window, VAddBatchResult batchResult) {
+        for (Response<Object> response : window) {
+            try {
+                Object result = response.get();
+                batchResult.addResult(VectorCodec.toLong(result));
+            } catch (JedisDataException e) {
+                batchResult.addError(e.getMessage());
+            }
+        }
+        window.clear();
+    }
+
+    /**
+     * 根据元素标识符进行向量相似度搜索
+     *
+     * @param key 向量索引的键名
+     * @param element 要搜索的元素标识符
+     * @return 相似元素标识符列表
+     */
+    public List<String> vSimByElement(String key, String element) {
+        return vSim(key, "ELE", element, null, false, false, 10, null, null, null, null);
+    }
+
+    /**
+     * 向量相似度搜索
+     *
+     * @param key 向量索引的键名
+     * @param vectorType 向量类型：ELE/VALUES/FP32
+     * @param vectorOrElement 向量数据或元素标识符
+     * @param filter 过滤条件
+     * @param withScores 是否返回相似度分数
+     * @param withAttribs 是否返回属性信息
+     * @param count 返回结果数量
+     * @param epsilon 搜索精度参数
+     * @param ef 搜索时的ef参数
+     * @param filterEf 过滤时的ef参数
+     * @param truth 是否返回真实距离
+     * @return 相似元素标识符列表，可能包含分数和属性信息
+     */
+    public List<String> vSim(String key, String vectorType, Object vectorOrElement, String filter,
+            boolean withScores, boolean withAttribs, Integer count, Float epsilon, Integer ef, Integer filterEf,
+            Boolean truth) {
+        if (key == null || key.isEmpty() || vectorType == null || vectorOrElement == null) {
+            throw new IllegalArgumentException("VSIM 必填参数非法：key/vectorType/vectorOrElement 不可为空");
+        }
+        if (!"ELE".equals(vectorType) && !"VALUES".equals(vectorType) && !"FP32".equals(vectorType)) {
+            throw new IllegalArgumentException("VSIM vectorType 非法：仅支持 ELE/VALUES/FP32（当前值=" + vectorType + "）");
+        }
+
+        String[] valuesParts = null;
+        if ("VALUES".equals(vectorType)) {
+            if (!(vectorOrElement instanceof String)) {
+                throw new IllegalArgumentException(
+                        "VSIM vectorType=VALUES 时，vectorOrElement 必须为字符串（格式：\"dim val1 val2 ...\"）");
+            }
+            String valuesStr = (String) vectorOrElement;
+            valuesParts = valuesStr.trim().split("\\s+");
+            if (valuesParts.length < 1) {
+                throw new IllegalArgumentException("VSIM VALUES 格式错误：至少包含维度（当前值=" + valuesStr + "）");
+            }
+
+            int dim;
+            try {
+                dim = Integer.parseInt(valuesParts[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("VSIM VALUES 维度必须为整数（当前值=" + valuesParts[0] + "）", e);
+            }
+
+            if (valuesParts.length - 1 != dim) {
+                throw new IllegalArgumentException(
+                        "VSIM VALUES 向量值数量与维度不匹配（维度=" + dim + "，值数量=" + (valuesParts.length - 1) + "）");
+            }
+
+        } else if ("FP32".equals(vectorType)) {
+            if (!(vectorOrElement instanceof byte[])) {
+                throw new IllegalArgumentException("VSIM vectorType=FP32 时，vectorOrElement 必须为 byte[] 二进制流");
+            }
+
+        } else if ("ELE".equals(vectorType)) {
+            if (!(vectorOrElement instanceof String)) {
+                throw new IllegalArgumentException("VSIM vectorType=ELE 时，vectorOrElement 必须为元素标识字符串");
+            }
+        }
+
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+
+        if (valuesParts != null) {
+            args.add(VectorKeyword.VALUES);
+            for (String part : valuesParts) {
+                args.add(part);
+            }
+        } else if ("FP32".equals(vectorType)) {
+            args.add(VectorKeyword.FP32);
+            args.add((byte[]) vectorOrElement);
+        } else {
+            args.add(VectorKeyword.ELE);
+            args.add((String) vectorOrElement);
+        }
+
+        appendSimOptions(args, filter, withScores, withAttribs, count, epsilon, ef, filterEf, truth);
+
+        Object rawResult = executeRawCommand(VectorCommand.VSIM, args);
+        return toStringList(rawResult);
+    }
+
+    /**
+     * 向量相似度搜索（直接传入查询向量）
+     * 查询向量按选项直接编码为 FP32 二进制流或 VALUES 逐分量参数，无需拼接和解析字符串
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似元素标识符列表，可能包含分数和属性信息；启用结果缓存时为不可修改列表
+     */
+    public List<String> vSim(String key, float[] query, VSimOptions options) {
+        if (key == null || key.isEmpty() || query == null || query.length == 0) {
+            throw new IllegalArgumentException("VSIM 必填参数非法：key/query 不可为空");
+        }
+        VSimOptions opts = options == null ? VSimOptions.create() : options;
+        if (vSimCache == null && semanticCache == null) {
+            return searchStrings(key, query, opts);
+        }
+        return cachedSearch(VSimCache.STRINGS, key, query, opts,
+                () -> Collections.unmodifiableList(searchStrings(key, query, opts)));
+    }
+
+    /**
+     * 依次查找精确缓存和语义缓存，均未命中时执行搜索并写入两级缓存
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cachedSearch(int kind, String key, float[] query, VSimOptions opts, Supplier<T> search) {
+        if (vSimCache != null) {
+            Object cached = vSimCache.get(kind, key, query, opts);
+            if (cached != null) {
+                return (T) cached;
+            }
+        }
+        if (semanticCache != null) {
+            Object cached = semanticCache.get(kind, key, query, opts);
+            if (cached != null) {
+                return (T) cached;
+            }
+        }
+        long generation = vSimCache == null ? 0 : vSimCache.generation(key);
+        long semanticGeneration = semanticCache == null ? 0 : semanticCache.generation(key);
+        T result = search.get();
+        // 字符串列表本身不可修改；SimilarityResult 暴露原始字节数组，缓存保存副本，调用方改动不会污染缓存
+        Object cached = kind == VSimCache.RESULT ? ((SimilarityResult) result).copy() : result;
+        if (vSimCache != null) {
+            vSimCache.put(kind, key, query, opts, generation, cached);
+        }
+        if (semanticCache != null) {
+            semanticCache.put(kind, key, query, opts, semanticGeneration, cached);
+        }
+        return result;
+    }
+
+    private List<String> searchStrings(String key, float[] query, VSimOptions opts) {
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+        appendQueryVector(args, query, opts.isFp32());
+        appendSimOptions(args, opts);
+
+        Object rawResult = executeRawCommand(VectorCommand.VSIM, args);
+        return toStringList(rawResult);
+    }
+
+    /**
+     * 向量相似度搜索，返回类型化结果
+     * 分数直接解析为 double，元素标识和属性在访问时才解码
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似度搜索结果
+     */
+    public SimilarityResult vSimResult(String key, float[] query, VSimOptions options) {
+        if (key == null || key.isEmpty() || query == null || query.length == 0) {
+            throw new IllegalArgumentException("VSIM 必填参数非法：key/query 不可为空");
+        }
+        VSimOptions opts = options == null ? VSimOptions.create() : options;
+        if (vSimCache == null && semanticCache == null) {
+            return searchResult(key, query, opts);
+        }
+        return cachedSearch(VSimCache.RESULT, key, query, opts, () -> searchResult(key, query, opts));
+    }
+
+    private SimilarityResult searchResult(String key, float[] query, VSimOptions opts) {
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+        appendQueryVector(args, query, opts.isFp32());
+        appendSimOptions(args, opts);
+
+        if (nioTransport != null) {
+            return executeNio(VectorCommand.VSIM, args,
+                    connection -> connection.readSimilarityResult(opts.isWithScores(), opts.isWithAttribs()));
+        }
+        List<?> rawResult = executeRawCommand(VectorCommand.VSIM, args);
+        return SimilarityResult.fromReply(rawResult, opts.isWithScores(), opts.isWithAttribs());
+    }
+
+    /**
+     * 向量相似度搜索，结果写入调用方持有并复用的缓冲区
+     * 启用 NIO 传输层时解码器直接从套接字缓冲区写入结果缓冲区，缓冲区容量稳定后每次查询不产生分配；
+     * 否则先由 Jedis 解析回复再复制到缓冲区
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @param dst 结果缓冲区，原有内容被覆盖
+     * @return 结果数量
+     */
+    public int vSim(String key, float[] query, VSimOptions options, SearchResultBuffer dst) {
+        if (key == null || key.isEmpty() || query == null || query.length == 0) {
+            throw new IllegalArgumentException("VSIM 必填参数非法：key/query 不可为空");
+        }
+        if (dst == null) {
+            throw new IllegalArgumentException("VSIM 结果缓冲区不可为空");
+        }
+        VSimOptions opts = options == null ? VSimOptions.create() : options;
+
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+        appendQueryVector(args, query, opts.isFp32());
+        appendSimOptions(args, opts);
+
+        if (nioTransport != null) {
+            dst.expect(opts.isWithScores(), opts.isWithAttribs());
+            return executeNio(VectorCommand.VSIM, args, dst.nioDecoder).size();
+        }
+        Object rawResult = executeRawCommand(VectorCommand.VSIM, args);
+        dst.load(VectorCodec.flattenReply(rawResult), opts.isWithScores(), opts.isWithAttribs());
+        return dst.size();
+    }
+
+    /**
+     * 向量相似度搜索，按相似度从高到低依次回调访问器
+     * 结果先写入线程内复用的缓冲区，标识符和属性以只读视图传给访问器，仅在回调内有效
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @param visitor 结果访问器
+     * @return 结果数量
+     */
+    public int vSim(String key, float[] query, VSimOptions options, SearchResultVisitor visitor) {
+        if (visitor == null) {
+            throw new IllegalArgumentException("VSIM 结果访问器不可为空");
+        }
+        SearchResultBuffer buffer = SEARCH_BUFFER.get();
+        int size = vSim(key, query, options, buffer);
+        buffer.forEach(visitor);
+        return size;
+    }
+
+    /**
+     * 批量向量相似度搜索（单连接管道模式）
+     *
+     * @param key 向量索引的键名
+     * @param queries 查询向量数组
+     * @param options 搜索选项，为null时使用默认选项，对所有查询生效
+     * @return 列式存储的批量搜索结果，按查询顺序排列
+     */
+    public SimilarityBatchResult vSimBatch(String key, float[][] queries, VSimOptions options) {
+        return vSimBatch(key, queries, options, 1);
+    }
+
+    /**
+     * 批量向量相似度搜索（多连接管道模式）
+     * 查询按顺序切分为若干连续分段，每个分段占用一个连接以管道方式发送，
+     * 每 {@value #BATCH_SIM_FLUSH_QUERIES} 条查询读取一次回复。单个查询的错误记录在结果中，不影响其他查询
+     *
+     * @param key 向量索引的键名
+     * @param queries 查询向量数组
+     * @param options 搜索选项，为null时使用默认选项，对所有查询生效
+     * @param connections 并行连接数，不应超过连接池 maxTotal
+     * @return 列式存储的批量搜索结果，按查询顺序排列
+     */
+    public SimilarityBatchResult vSimBatch(String key, float[][] queries, VSimOptions options,
+            int connections) {
+        if (key == null || key.isEmpty() || queries == null || queries.length == 0 || connections <= 0) {
+            throw new IllegalArgumentException("VSIM 批量搜索参数非法：key/queries 不可为空，connections 必须大于0");
+        }
+        for (int q = 0; q < queries.length; q++) {
+            if (queries[q] == null || queries[q].length == 0) {
+                throw new IllegalArgumentException("VSIM 批量搜索查询向量不可为空（下标=" + q + "）");
+            }
+        }
+        VSimOptions opts = options == null ? VSimOptions.create() : options;
+
+        // 查询太少时并行只会增加借用连接的开销
+        int segments = Math.max(1, Math.min(connections, queries.length / BATCH_SIM_FLUSH_QUERIES));
+        if (segments == 1) {
+            return vSimBatchSegment(key, queries, 0, queries.length, opts).build();
+        }
+
+        int segmentSize = (queries.length + segments - 1) / segments;
+        SimilarityBatchResult.Builder[] parts = new SimilarityBatchResult.Builder[segments];
+        RuntimeException[] failures = new RuntimeException[segments];
+        Thread[] threads = new Thread[segments];
+        for (int i = 1; i < segments; i++) {
+            final int segment = i;
+            final int from = segment * segmentSize;
+            final int to = Math.min(queries.length, from + segmentSize);
+            threads[i] = new Thread(() -> {
+                try {
+                    parts[segment] = vSimBatchSegment(key, queries, from, to, opts);
+                } catch (RuntimeException e) {
+                    failures[segment] = e;
+                }
+            }, "redis-vector-vsim-batch-" + segment);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        parts[0] = vSimBatchSegment(key, queries, 0, Math.min(queries.length, segmentSize), opts);
+
+        try {
+            for (int i = 1; i < segments; i++) {
+                threads[i].join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("VSIM 批量搜索等待被中断", e);
+        }
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        SimilarityBatchResult.Builder merged = new SimilarityBatchResult.Builder(queries.length,
+                opts.getCount() == null ? 10 : opts.getCount(), opts.isWithScores(), opts.isWithAttribs());
+        for (SimilarityBatchResult.Builder part : parts) {
+            merged.addAll(part);
+        }
+        return merged.build();
+    }
+
+    /**
+     * 在一个连接上以管道方式执行 [from, to) 区间的查询
+     */
+    private SimilarityBatchResult.Builder vSimBatchSegment(String key, float[][] queries, int from, int to,
+            VSimOptions opts) {
+        SimilarityBatchResult.Builder builder = new SimilarityBatchResult.Builder(to - from,
+                opts.getCount() == null ? 10 : opts.getCount(), opts.isWithScores(), opts.isWithAttribs());
+        List<Response<Object>> window = new ArrayList<>(Math.min(to - from, BATCH_SIM_FLUSH_QUERIES));
+
+        boolean permitted = acquireVirtualThreadPermit();
+        try (Jedis jedis = getResource(); Pipeline pipeline = jedis.pipelined()) {
+            for (int q = from; q < to; q++) {
+                CommandArgs args = CommandArgs.begin();
+                args.addKey(key);
+                appendQueryVector(args, queries[q], opts.isFp32());
+                appendSimOptions(args, opts);
+                try {
+                    window.add(pipeline.sendCommand(VectorCommand.VSIM, args.toArray()));
+                } finally {
+                    args.release();
+                }
+
+                if (window.size() >= BATCH_SIM_FLUSH_QUERIES) {
+                    pipeline.sync();
+                    collectSimResponses(window, builder);
+                }
+            }
+            pipeline.sync();
+            collectSimResponses(window, builder);
+
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 批量命令失败：command=VSIM，查询区间=[" + from + ", " + to + ")", e);
+        } finally {
+            if (permitted) {
+                virtualThreadPermits.release();
+            }
+        }
+        return builder;
+    }
+
+    private static void collectSimResponses(List<Response<Object>> window, SimilarityBatchResult.Builder builder) {
+        for (Response<Object> response : window) {
+            try {
+                builder.addReply(response.get());
+            } catch (JedisDataException e) {
+                builder.addError(e.getMessage());
+            }
+        }
+        window.clear();
+    }
+
+    /**
+     * 根据元素标识符进行向量相似度搜索，返回类型化结果
+     *
+     * @param key 向量索引的键名
+     * @param element 要搜索的元素标识符
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似度搜索结果
+     */
+    public SimilarityResult vSimResultByElement(String key, String element, VSimOptions options) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VSIM 必填参数非法：key/element 不可为空");
+        }
+        VSimOptions opts = options == null ? VSimOptions.create() : options;
+
+        CommandArgs args = CommandArgs.begin();
+        args.addKey(key);
+        args.add(VectorKeyword.ELE);
+        args.add(element);
+        appendSimOptions(args, opts);
+
+        if (nioTransport != null) {
+            return executeNio(VectorCommand.VSIM, args,
+                    connection -> connection.readSimilarityResult(opts.isWithScores(), opts.isWithAttribs()));
+        }
+        List<?> rawResult = executeRawCommand(VectorCommand.VSIM, args);
+        return SimilarityResult.fromReply(rawResult, opts.isWithScores(), opts.isWithAttribs());
+    }
+
+    /**
+     * 写入查询向量参数
+     */
+    private static void appendQueryVector(CommandArgs args, float[] query, boolean fp32) {
+        if (fp32) {
+            args.add(VectorKeyword.FP32);
+            args.addFp32(query);
+        } else {
+            args.add(VectorKeyword.VALUES);
+            args.add(query.length);
+            for (float f : query) {
+                args.add(f);
+            }
+        }
+    }
+
+    /**
+     * 写入 VSIM 搜索选项参数
+     */
+    private static void appendSimOptions(CommandArgs args, VSimOptions opts) {
+        appendSimOptions(args,
+                opts.getFilter(),
+                opts.isWithScores(),
+                opts.isWithAttribs(),
+                opts.getCount(),
+                opts.getEpsilon(),
+                opts.getEf(),
+                opts.getFilterEf(),
+                opts.getTruth());
+    }
+
+    /**
+     * 写入 VSIM 搜索选项参数
+     */
+    private static void appendSimOptions(CommandArgs args, String filter, boolean withScores, boolean withAttribs,
+            Integer count, Float epsilon, Integer ef, Integer filterEf, Boolean truth) {
+        if (withScores) {
+            args.add(VectorKeyword.WITHSCORES);
+        }
+        if (withAttribs) {
+            args.add(VectorKeyword.WITHATTRIBS);
+        }
+        if (count != null && count > 0) {
+            args.add(VectorKeyword.COUNT);
+            args.add(count);
+        }
+        if (epsilon != null && epsilon >= 0 && epsilon <= 1) {
+            args.add(VectorKeyword.EPSILON);
+            args.add(epsilon);
+        }
+        if (ef != null && ef > 0) {
+            args.add(VectorKeyword.EF);
+            args.add(ef);
+        }
+        if (filter != null && !filter.isEmpty()) {
+            args.add(VectorKeyword.FILTER);
+            args.add(filter);
+        }
+        if (filterEf != null && filterEf > 0) {
+            args.add(VectorKeyword.FILTER_EF);
+            args.add(filterEf);
+        }
+        if (truth != null && truth) {
+            args.add(VectorKeyword.TRUTH);
+        }
+    }
+
+    /**
+     * 向量相似度搜索（字符串参数）
+     *
+     * @param key 向量索引的键名
+     * @param vectorType 向量类型：ELE/VALUES/FP32
+     * @param vectorOrElement 向量数据或元素标识符字符串
+     * @param filter 过滤条件
+     * @param withScores 是否返回相似度分数
+     * @param withAttribs 是否返回属性信息
+     * @param count 返回结果数量
+     * @param epsilon 搜索精度参数
+     * @param ef 搜索时的ef参数
+     * @param filterEf 过滤时的ef参数
+     * @param truth 是否返回真实距离
+     * @return 相似元素标识符列表，可能包含分数和属性信息
+     */
+    public List<String> vSim(String key, String vectorType, String vectorOrElement, String filter,
+            boolean withScores, boolean withAttribs, Integer count, Float epsilon, Integer ef, Integer filterEf,
+            Boolean truth) {
+        return vSim(key,
+                vectorType,
+                (Object) vectorOrElement,
+                filter,
+                withScores,
+                withAttribs,
+                count,
+                epsilon,
+                ef,
+                filterEf,
+                truth);
+    }
+
+    /**
+     * 获取向量索引的维度
+     *
+     * @param key 向量索引的键名
+     * @return 向量维度，如果索引不存在返回0
+     */
+    public Integer vDim(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("VDIM key 不可为空");
+        }
+        CommandArgs args = CommandArgs.begin().addKey(key);
+        Object result = executeRawCommand(VectorCommand.VDIM, args);
+        return result == null ? 0 : Integer.parseInt(result.toString());
+    }
+
+    /**
+     * 获取向量索引中的元素数量
+     *
+     * @param key 向量索引的键名
+     * @return 元素数量，如果索引不存在返回0
+     */
+    public Long vCard(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("VCARD key 不可为空");
+        }
+        CommandArgs args = CommandArgs.begin().addKey(key);
+        Object result = executeRawCommand(VectorCommand.VCARD, args);
+        return result == null ? 0L : Long.parseLong(result.toString());
+    }
+
+    /**
+     * 从向量索引中删除指定元素
+     *
+     * @param key 向量索引的键名
+     * @param element 要删除的元素标识符
+     * @return 成功删除返回1，元素不存在返回0
+     */
+    public Long vRem(String key, String element) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VREM key/element 不可为空");
+        }
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element);
+        try {
+            Object result = executeRawCommand(VectorCommand.VREM, args);
+            return VectorCodec.toLong(result);
+        } finally {
+            invalidateVSimCache(key);
+        }
+    }
+
+    /**
+     * 检查元素是否存在于向量索引中
+     *
+     * @param key 向量索引的键名
+     * @param element 要检查的元素标识符
+     * @return 存在返回true，不存在返回false
+     */
+    public Boolean vIsMember(String key, String element) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VISMEMBER key/element 不可为空");
+        }
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element);
+        Object result = executeRawCommand(VectorCommand.VISMEMBER, args);
+        return VectorCodec.toLong(result) == 1L;
+    }
+
+    /**
+     * 获取指定元素的向量嵌入
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @param raw 是否返回原始字节数据，RAW 模式的二进制回复请使用 {@link #vEmbVector(String, String)} 解码
+     * @return 向量嵌入数据列表
+     */
+    public List<String> vEmb(String key, String element, boolean raw) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VEMB key/element 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element);
+        if (raw) {
+            args.add(VectorKeyword.RAW);
+        }
+
+        Object rawResult = executeRawCommand(VectorCommand.VEMB, args);
+        return toStringList(rawResult);
+    }
+
+    /**
+     * 获取指定元素的向量嵌入（RAW 二进制模式）
+     * 直接解析 VEMB RAW 回复并在客户端完成 Q8/BIN 反量化，BIN 量化的索引会额外执行一次 VDIM 获取维度
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @return 向量数据数组，元素不存在时返回null
+     */
+    public float[] vEmbVector(String key, String element) {
+        List<?> rawResult = vEmbRaw(key, element);
+        if (rawResult == null) {
+            return null;
+        }
+        int dim = VectorCodec.isBinaryEmbedding(rawResult) ? vDim(key) : 0;
+        float[] vector = new float[VectorCodec.rawEmbeddingLength(rawResult, dim)];
+        VectorCodec.decodeRawEmbedding(rawResult, dim, vector, false);
+        return vector;
+    }
+
+    /**
+     * 获取指定元素的向量嵌入（RAW 二进制模式）并写入调用方提供的缓冲区
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @param dst 目标缓冲区，长度不小于向量维度；BIN 量化时按缓冲区长度作为维度
+     * @param normalized true 返回归一化向量（适合余弦重排），false 返回原始尺度向量
+     * @return 向量维度，元素不存在时返回-1
+     */
+    public int vEmbVector(String key, String element, float[] dst, boolean normalized) {
+        if (dst == null) {
+            throw new IllegalArgumentException("VEMB 目标缓冲区不可为空");
+        }
+        if (nioTransport != null) {
+            if (key == null || key.isEmpty() || element == null) {
+                throw new IllegalArgumentException("VEMB key/element 不可为空");
+            }
+            CommandArgs args = CommandArgs.begin().addKey(key).add(element).add(VectorKeyword.RAW);
+            return executeNio(VectorCommand.VEMB, args, connection -> connection.readRawEmbedding(dst, normalized));
+        }
+        List<?> rawResult = vEmbRaw(key, element);
+        if (rawResult == null) {
+            return -1;
+        }
+        return VectorCodec.decodeRawEmbedding(rawResult, dst.length, dst, normalized);
+    }
+
+    private List<?> vEmbRaw(String key, String element) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VEMB key/element 不可为空");
+        }
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element).add(VectorKeyword.RAW);
+        return executeRawCommand(VectorCommand.VEMB, args);
+    }
+
+    /**
+     * 设置元素的属性信息
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @param attributes 属性信息字符串
+     * @return 成功设置返回1，失败返回0
+     */
+    public Long vSetAttr(String key, String element, String attributes) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VSETATTR key/element 不可为空");
+        }
+        String attr = attributes == null ? "" : attributes;
+
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element).add(attr);
+        try {
+            Object result = executeRawCommand(VectorCommand.VSETATTR, args);
+            return VectorCodec.toLong(result);
+        } finally {
+            invalidateVSimCache(key);
+        }
+    }
+
+    /**
+     * 获取元素的属性信息
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @return 元素的属性信息字符串，如果不存在返回null
+     */
+    public String vGetAttr(String key, String element) {
+        if (key == null || key.isEmpty() || element == null) {
+            throw new IllegalArgumentException("VGETATTR key/element 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key).add(element);
+        Object result = executeRawCommand(VectorCommand.VGETATTR, args);
+        if (result instanceof byte[]) {
+            return new String((byte[]) result, charset);
+        }
+        return result == null ? null : result.toString();
+    }
+
+    /**
+     * 按范围获取向量索引中的元素
+     *
+     * @param key 向量索引的键名
+     * @param start 起始元素标识符
+     * @param end 结束元素标识符
+     * @param count 返回的最大数量
+     * @return 元素标识符列表
+     */
+    public List<String> vRange(String key, String start, String end, int count) {
+        if (key == null || key.isEmpty() || start == null || end == null) {
+            throw new IllegalArgumentException("VRANGE key/start/end 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key).add(start).add(end).add(count);
+        List<byte[]> rawResult = executeRawCommand(VectorCommand.VRANGE, args);
+        List<String> resultList = new ArrayList<>();
+        if (rawResult != null && !rawResult.isEmpty()) {
+            for (byte[] bytes : rawResult) {
+                resultList.add(new String(bytes, charset));
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * 以管道方式读取一组元素的 VEMB RAW 和 VGETATTR 回复，供 {@link LocalVectorMirror} 批量加载
+     *
+     * @return 按元素顺序交替排列的 VEMB 回复和 VGETATTR 回复，元素已被删除时对应回复为null
+     */
+    List<Object> vEmbAndAttrPipelined(String key, List<String> elements) {
+        List<Response<Object>> responses = new ArrayList<>(elements.size() * 2);
+        boolean permitted = acquireVirtualThreadPermit();
+        try (Jedis jedis = getResource(); Pipeline pipeline = jedis.pipelined()) {
+            for (String element : elements) {
+                CommandArgs args = CommandArgs.begin().addKey(key).add(element).add(VectorKeyword.RAW);
+                try {
+                    responses.add(pipeline.sendCommand(VectorCommand.VEMB, args.toArray()));
+                } finally {
+                    args.release();
+                }
+                args = CommandArgs.begin().addKey(key).add(element);
+                try {
+                    responses.add(pipeline.sendCommand(VectorCommand.VGETATTR, args.toArray()));
+                } finally {
+                    args.release();
+                }
+            }
+            pipeline.sync();
+
+            List<Object> replies = new ArrayList<>(responses.size());
+            for (Response<Object> response : responses) {
+                replies.add(response.get());
+            }
+            return replies;
+        } catch (JedisException e) {
+            throw new RuntimeException("执行 Redis 批量命令失败：command=VEMB/VGETATTR，元素数=" + elements.size(), e);
+        } finally {
+            if (permitted) {
+                virtualThreadPermits.release();
+            }
+        }
+    }
+
+    /**
+     * 随机获取向量索引中的元素
+     *
+     * @param key 向量索引的键名
+     * @param count 要获取的元素数量，为0时返回单个随机元素
+     * @return 随机元素标识符列表
+     */
+    public List<String> vRandMember(String key, int count) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("VRANDMEMBER key 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key);
+        if (count != 0) {
+            args.add(count);
+        }
+
+        Object rawResult = executeRawCommand(VectorCommand.VRANDMEMBER, args);
+        List<String> resultList = new ArrayList<>();
+
+        if (rawResult instanceof byte[]) {
+            resultList.add(new String((byte[]) rawResult, charset));
+        } else if (rawResult instanceof List) {
+            for (Object obj : (List<?>) rawResult) {
+                if (obj instanceof byte[]) {
+                    resultList.add(new String((byte[]) obj, charset));
+                }
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * 获取向量索引的详细信息
+     *
+     * @param key 向量索引的键名
+     * @return 索引信息列表，包含维度、元素数量等统计信息
+     */
+    public List<String> vInfo(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("VINFO key 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key);
+        Object rawResult = executeRawCommand(VectorCommand.VINFO, args);
+        return toStringList(rawResult);
+    }
+
+    /**
+     * 获取向量索引的详细信息（键值形式）
+     * RESP2 的交错数组和 RESP3 的映射回复解析为同样的结果，字符串值为 String，数值保留 Long 或 Double
+     *
+     * @param key 向量索引的键名
+     * @return 按服务端返回顺序排列的信息项，索引不存在时返回空映射
+     */
+    public Map<String, Object> vInfoMap(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("VINFO key 不可为空");
+        }
+
+        CommandArgs args = CommandArgs.begin().addKey(key);
+        List<?> rawResult = VectorCodec.flattenReply(executeRawCommand(VectorCommand.VINFO, args));
+        Map<String, Object> info = new LinkedHashMap<>();
+        if (rawResult != null) {
+            for (int i = 0; i + 1 < rawResult.size(); i += 2) {
+                Object value = rawResult.get(i + 1);
+                info.put(toStringValue(rawResult.get(i)), value instanceof byte[] ? toStringValue(value) : value);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * 将批量回复转换为字符串列表
+     */
+    private static List<String> toStringList(Object rawResult) {
+        List<?> flat = VectorCodec.flattenReply(rawResult);
+        List<String> resultList = new ArrayList<>();
+        if (flat != null && !flat.isEmpty()) {
+            for (Object item : flat) {
+                resultList.add(toStringValue(item));
+            }
+        }
+        return resultList;
+    }
+
+    /**
+     * 将回复项转换为字符串，RESP3 的数值和布尔按文本形式输出
+     */
+    private static String toStringValue(Object item) {
+        if (item instanceof byte[]) {
+            return new String((byte[]) item, charset);
+        }
+        return item == null ? "null" : item.toString();
+    }
+
+    /**
+     * 从连接池借出连接，调用方负责关闭归还
+     * 没有空闲连接且等待方已达上限时直接拒绝，否则最多等待 maxWait
+     *
+     * @throws RedisVectorOverloadException 连接池过载
+     */
+    Jedis getResource() {
+        ConnectionProvider pool = pool();
+        if (maxWaiters < 0) {
+            // 未限制等待方时不维护借用计数，避免每次借用都争用同一个原子变量
+            return borrow(pool);
+        }
+        int waiting = borrowers.incrementAndGet();
+        try {
+            if (waiting > maxWaiters && pool.getNumIdle() == 0) {
+                rejectedBorrows.increment();
+                throw new RedisVectorOverloadException(
+                        "Redis 连接池过载：等待借用连接的调用方已达上限 maxWaiters=" + maxWaiters);
+            }
+            return borrow(pool);
+        } finally {
+            borrowers.decrementAndGet();
+        }
+    }
+
+    private Jedis borrow(ConnectionProvider pool) {
+        long begin = System.nanoTime();
+        Jedis jedis;
+        try {
+            jedis = pool.getResource();
+        } catch (RedisVectorOverloadException e) {
+            // 连接来源在 maxWait 内未借到连接
+            borrowTimeouts.increment();
+            throw e;
+        }
+        borrowWaitNanos.add(System.nanoTime() - begin);
+        borrowCount.increment();
+        return jedis;
+    }
+
+    /**
+     * 获取连接池指标快照，可据此在排队加剧前主动降级或限流
+     * 启用 NIO 传输层时只反映批量方法使用的 Jedis 连接池，单条命令的连接见 {@link #getNioTransportMetrics()}
+     *
+     * @return 连接池指标，延迟初始化模式下连接池尚未创建时各项连接数为0
+     */
+    public PoolMetrics getPoolMetrics() {
+        ConnectionProvider pool = connectionPool;
+        if (pool == null) {
+            return new PoolMetrics(maxTotal, 0, 0, 0, 0, 0, borrowTimeouts.sum(), rejectedBorrows.sum(), 0, 0);
+        }
+        return new PoolMetrics(pool.getMaxTotal(),
+                pool.getNumActive(),
+                pool.getNumIdle(),
+                pool.getNumWaiters() + virtualThreadPermits.getQueueLength(),
+                pool.getMeanBorrowWaitDuration().toMillis(),
+                pool.getMaxBorrowWaitDuration().toMillis(),
+                borrowTimeouts.sum(),
+                rejectedBorrows.sum(),
+                pool.getCreatedCount(),
+                pool.getDestroyedCount());
+    }
+
+    /**
+     * 获取 NIO 传输层的连接指标快照
+     *
+     * @return NIO 连接指标，未启用 NIO 传输层时返回null
+     */
+    public PoolMetrics getNioTransportMetrics() {
+        return nioTransport == null ? null : nioTransport.metrics();
+    }
+
+    /**
+     * 启用自动伸缩时启动伸缩控制器，须在连接池创建后调用
+     */
+    private void startAutoSizer() {
+        if (autoSizeMaxTotal <= 0) {
+            return;
+        }
+        PoolAutoSizer sizer = new PoolAutoSizer(this, autoSizeMinTotal, autoSizeMaxTotal, maxTotal, minIdle);
+        autoSizeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-vector-autosizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        autoSizeScheduler.scheduleWithFixedDelay(sizer,
+                autoSizeIntervalMillis,
+                autoSizeIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 当前连接池，尚未创建时返回null
+     */
+    ConnectionProvider currentPool() {
+        return connectionPool;
+    }
+
+    /**
+     * 调整连接池大小，虚拟线程许可数同步调整
+     */
+    void resizePool(int maxTotal, int minIdle) {
+        ConnectionProvider pool = connectionPool;
+        if (pool == null) {
+            return;
+        }
+        int previous = pool.getMaxTotal();
+        if (minIdle < pool.getMinIdle()) {
+            pool.setMinIdle(minIdle);
+            pool.setMaxTotal(maxTotal);
+        } else {
+            pool.setMaxTotal(maxTotal);
+            pool.setMinIdle(minIdle);
+        }
+        virtualThreadPermits.resize(maxTotal - previous);
+    }
+
+    /**
+     * 使指定键的 VSIM 缓存结果（包括语义缓存和本地镜像）失效
+     * 本客户端的 vAdd、vAddBatch、vRem、vSetAttr 和批量导入会自动调用；通过其他途径写入且未开启键空间通知时需手动调用
+     *
+     * @param key 向量索引的键名
+     */
+    public void invalidateVSimCache(String key) {
+        for (KeyedResultCache cache : resultCaches) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 注册按键失效的缓存，随本地写入和键空间通知失效
+     */
+    void registerResultCache(KeyedResultCache cache) {
+        resultCaches.add(cache);
+    }
+
+    void unregisterResultCache(KeyedResultCache cache) {
+        resultCaches.remove(cache);
+    }
+
+    /**
+     * 是否订阅了键空间通知
+     */
+    boolean isKeyspaceNotificationsEnabled() {
+        return keyspaceListener != null;
+    }
+
+    /**
+     * 获取 VSIM 结果缓存指标
+     *
+     * @return 缓存指标快照，未启用缓存时返回null
+     */
+    public CacheMetrics getVSimCacheMetrics() {
+        return vSimCache == null ? null : vSimCache.metrics();
+    }
+
+    /**
+     * 获取 VSIM 语义查询缓存指标
+     *
+     * @return 缓存指标快照，未启用语义缓存时返回null
+     */
+    public CacheMetrics getSemanticCacheMetrics() {
+        return semanticCache == null ? null : semanticCache.metrics();
+    }
+
+    /**
+     * 命令合并模式下平均每次管道刷新合并的命令数，可据此评估写出线程数是否合适
+     *
+     * @return 平均合并命令数，未启用命令合并或尚无命令时返回0
+     */
+    public double getAverageCoalescedBatchSize() {
+        return coalescer == null ? 0 : coalescer.getAverageBatchSize();
+    }
+
+    /**
+     * 连接数上限，启用自动伸缩时为伸缩上界
+     */
+    int getMaxConnections() {
+        return autoSizeMaxTotal > 0 ? autoSizeMaxTotal : maxTotal;
+    }
+
+    long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    long getBorrowWaitNanos() {
+        return borrowWaitNanos.sum();
+    }
+
+    long getCommandCount() {
+        return commandCount.sum();
+    }
+
+    long getCommandNanos() {
+        return commandNanos.sum();
+    }
+
+    /**
+     * 在虚拟线程许可上排队的调用方数，这些调用方尚未向连接池借用，不计入连接池的等待方
+     */
+    int getPermitWaiters() {
+        return virtualThreadPermits.getQueueLength();
+    }
+
+    /**
+     * 关闭客户端连接池
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        if (nioTransport != null) {
+            nioTransport.close();
+        }
+        if (keyspaceListener != null) {
+            keyspaceListener.close();
+        }
+        if (autoSizeScheduler != null) {
+            autoSizeScheduler.shutdownNow();
+        }
+        if (connectionPool != null && !connectionPool.isClosed()) {
+            connectionPool.close();
+        }
+    }
+
+    /**
+     * 可增减许可总数的信号量
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void resize(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+        }
+    }
+
+    /**
+     * 客户端构建器，未设置的参数使用与 {@link RedisVectorUtil} 默认实例一致的取值
+     */
+    public static final class Builder {
+
+        private String host = "127.0.0.1";
+        private int port = 16379;
+        private int connectionTimeout = 3000;
+        private int socketTimeout = 3000;
+        private int database = 2;
+        private String user;
+        private String password;
+        private String clientName;
+        private int maxTotal = 30;
+        private int maxIdle = 15;
+        private int minIdle = 5;
+        private ConnectionHealthStrategy healthStrategy = ConnectionHealthStrategy.BACKGROUND;
+        private long idleValidationIntervalMillis = 30_000;
+        private long minEvictableIdleMillis = 60_000;
+        private long maxWaitMillis = 1000;
+        private int maxWaiters = -1;
+        private boolean lazy;
+        private boolean striped;
+        private int autoSizeMinTotal;
+        private int autoSizeMaxTotal;
+        private long autoSizeIntervalMillis = 5000;
+        private int coalescingWriters;
+        private boolean nioTransport;
+        private RedisProtocol protocol = RedisProtocol.RESP2;
+        private int vSimCacheSize;
+        private long vSimCacheTtlMillis;
+        private boolean keyspaceNotifications;
+        private int semanticCacheSize;
+        private double semanticCacheMinSimilarity = 0.98;
+
+        private Builder() {
+        }
+
+        /**
+         * @param host Redis 主机地址
+         * @return 当前构建器
+         */
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * @param port Redis 端口
+         * @return 当前构建器
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * 同时设置连接超时和读写超时
+         *
+         * @param timeout 超时毫秒数
+         * @return 当前构建器
+         */
+        public Builder timeout(int timeout) {
+            this.connectionTimeout = timeout;
+            this.socketTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param connectionTimeout 建立连接超时毫秒数
+         * @return 当前构建器
+         */
+        public Builder connectionTimeout(int connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * @param socketTimeout 读写超时毫秒数
+         * @return 当前构建器
+         */
+        public Builder socketTimeout(int socketTimeout) {
+            this.socketTimeout = socketTimeout;
+            return this;
+        }
+
+        /**
+         * @param database 数据库编号
+         * @return 当前构建器
+         */
+        public Builder database(int database) {
+            this.database = database;
+            return this;
+        }
+
+        /**
+         * @param user ACL 用户名，为null时使用 default 用户
+         * @return 当前构建器
+         */
+        public Builder user(String user) {
+            this.user = user;
+            return this;
+        }
+
+        /**
+         * @param password 密码，为null时不认证
+         * @return 当前构建器
+         */
+        public Builder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * @param clientName 连接名称（CLIENT SETNAME），便于在服务端区分业务
+         * @return 当前构建器
+         */
+        public Builder clientName(String clientName) {
+            this.clientName = clientName;
+            return this;
+        }
+
+        /**
+         * @param maxTotal 连接池最大连接数
+         * @return 当前构建器
+         */
+        public Builder maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * @param maxIdle 连接池最大空闲连接数
+         * @return 当前构建器
+         */
+        public Builder maxIdle(int maxIdle) {
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * @param minIdle 连接池最小空闲连接数
+         * @return 当前构建器
+         */
+        public Builder minIdle(int minIdle) {
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * @param healthStrategy 连接健康检查策略，默认 {@link ConnectionHealthStrategy#BACKGROUND}
+         * @return 当前构建器
+         */
+        public Builder healthStrategy(ConnectionHealthStrategy healthStrategy) {
+            this.healthStrategy = healthStrategy;
+            return this;
+        }
+
+        /**
+         * @param idleValidationIntervalMillis 后台校验空闲连接的间隔毫秒数
+         * @return 当前构建器
+         */
+        public Builder idleValidationInterval(long idleValidationIntervalMillis) {
+            this.idleValidationIntervalMillis = idleValidationIntervalMillis;
+            return this;
+        }
+
+        /**
+         * @param minEvictableIdleMillis 空闲超过该毫秒数的连接在后台校验时被回收（保留 minIdle 个）
+         * @return 当前构建器
+         */
+        public Builder minEvictableIdle(long minEvictableIdleMillis) {
+            this.minEvictableIdleMillis = minEvictableIdleMillis;
+            return this;
+        }
+
+        /**
+         * @param maxWaitMillis 借用连接的最长等待毫秒数，超时抛出 {@link RedisVectorOverloadException}，负数表示无限等待
+         * @return 当前构建器
+         */
+        public Builder maxWait(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        /**
+         * @param maxWaiters 没有空闲连接时允许排队等待的调用方上限，超出直接抛出 {@link RedisVectorOverloadException}，
+         *            负数表示不限制
+         * @return 当前构建器
+         */
+        public Builder maxWaiters(int maxWaiters) {
+            this.maxWaiters = maxWaiters;
+            return this;
+        }
+
+        /**
+         * @param lazy 为true时首次执行命令才创建连接池，适合可能完全不访问 Redis 的命令行工具
+         * @return 当前构建器
+         */
+        public Builder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        /**
+         * @param striped 为true时使用 {@link StripedConnectionPool} 替代 commons-pool2 连接池，
+         *            线程优先复用上次的连接，高并发下借用和归还不经过全局锁；该模式不做后台空闲校验
+         * @return 当前构建器
+         */
+        public Builder striped(boolean striped) {
+            this.striped = striped;
+            return this;
+        }
+
+        /**
+         * 启用连接池自动伸缩：借用等待上升且服务端延迟平稳时扩容，连接持续空闲时缩容，
+         * {@link #maxTotal(int)} 作为初始大小，minIdle 按初始比例随之调整
+         *
+         * @param minTotal 最大连接数下限
+         * @param maxTotal 最大连接数上限
+         * @return 当前构建器
+         */
+        public Builder autoSize(int minTotal, int maxTotal) {
+            this.autoSizeMinTotal = minTotal;
+            this.autoSizeMaxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * @param autoSizeIntervalMillis 自动伸缩的评估间隔毫秒数
+         * @return 当前构建器
+         */
+        public Builder autoSizeInterval(long autoSizeIntervalMillis) {
+            this.autoSizeIntervalMillis = autoSizeIntervalMillis;
+            return this;
+        }
+
+        /**
+         * 启用命令合并：单条命令（VSIM、VISMEMBER 等）不再各自占用连接往返，而是放入共享队列，
+         * 由指定数量的写出线程合并为管道批量写出，少量连接即可承载高并发。批量方法（vAddBatch、vSimBatch）不受影响
+         *
+         * @param writers 写出线程数（每个线程占用一个连接），为0时不启用
+         * @return 当前构建器
+         */
+        public Builder coalescing(int writers) {
+            this.coalescingWriters = writers;
+            return this;
+        }
+
+        /**
+         * 启用 NIO 传输层：单条命令改由非阻塞 SocketChannel 发送，VSIM 的分数和 VEMB RAW 的向量
+         * 直接从连接复用的直接内存缓冲区中解析，不经过 Jedis 的中间 byte[] 和 List。
+         * NIO 连接另行按 maxTotal 和 maxWait 限制，批量方法和批量导入仍使用 Jedis 连接池。
+         * 自动伸缩只观测 Jedis 连接池，不能与 NIO 传输层同时启用
+         *
+         * @param nioTransport 是否启用
+         * @return 当前构建器
+         */
+        public Builder nioTransport(boolean nioTransport) {
+            this.nioTransport = nioTransport;
+            return this;
+        }
+
+        /**
+         * 设置协议版本。RESP3 下 VSIM 带 WITHSCORES/WITHATTRIBS 时返回元素到分数的映射，分数为原生双精度浮点，
+         * VINFO 返回映射；客户端对两种回复形态都能解析，公开方法的返回值不变
+         *
+         * @param protocol 协议版本，默认 RESP2
+         * @return 当前构建器
+         */
+        public Builder protocol(RedisProtocol protocol) {
+            this.protocol = protocol;
+            return this;
+        }
+
+        /**
+         * 启用 VSIM 结果缓存：vSim(key, float[], options) 和 vSimResult(key, float[], options) 的结果按
+         * 键、查询向量和选项缓存，容量满时淘汰最久未访问的条目。本客户端写入某个键后该键的缓存立即失效
+         *
+         * @param maxEntries 最大缓存条目数，为0时不启用
+         * @return 当前构建器
+         */
+        public Builder vSimCache(int maxEntries) {
+            this.vSimCacheSize = maxEntries;
+            return this;
+        }
+
+        /**
+         * @param ttlMillis VSIM 缓存（包括语义缓存）条目的存活毫秒数，为0时不过期，仅依赖失效
+         * @return 当前构建器
+         */
+        public Builder vSimCacheTtl(long ttlMillis) {
+            this.vSimCacheTtlMillis = ttlMillis;
+            return this;
+        }
+
+        /**
+         * 启用 VSIM 语义查询缓存：新查询向量与最近某个查询在同一键、同一选项下的余弦相似度不低于阈值时直接返回其结果，
+         * 用于吸收文本不同但嵌入几乎相同的查询。命中的结果来自相近而非相同的查询，阈值应按业务可接受的误差设置
+         *
+         * @param maxEntries 最多保存的查询数，为0时不启用；查找需线性扫描，建议不超过数百
+         * @param minSimilarity 余弦相似度阈值，取值 (0, 1]，默认 0.98
+         * @return 当前构建器
+         */
+        public Builder semanticCache(int maxEntries, double minSimilarity) {
+            this.semanticCacheSize = maxEntries;
+            this.semanticCacheMinSimilarity = minSimilarity;
+            return this;
+        }
+
+        /**
+         * 订阅键空间通知，其他客户端写入某个键时使该键的 VSIM 缓存失效，并触发 {@link LocalVectorMirror} 重新加载。
+         * 服务端需开启 notify-keyspace-events；订阅断开期间缓存暂停使用
+         *
+         * @param keyspaceNotifications 是否订阅
+         * @return 当前构建器
+         */
+        public Builder keyspaceNotifications(boolean keyspaceNotifications) {
+            this.keyspaceNotifications = keyspaceNotifications;
+            return this;
+        }
+
+        /**
+         * 创建客户端
+         *
+         * @return 客户端
+         */
+        public RedisVectorClient build() {
+            if (host == null || host.isEmpty() || port <= 0 || database < 0) {
+                throw new IllegalArgumentException(
+                        "Redis 连接参数非法（host=" + host + ", port=" + port + ", database=" + database + "）");
+            }
+            if (maxTotal <= 0 || maxIdle < 0 || minIdle < 0 || minIdle > maxTotal) {
+                throw new IllegalArgumentException(
+                        "连接池参数非法（maxTotal=" + maxTotal + ", maxIdle=" + maxIdle + ", minIdle=" + minIdle + "）");
+            }
+            if (healthStrategy == null || idleValidationIntervalMillis <= 0 || minEvictableIdleMillis <= 0) {
+                throw new IllegalArgumentException("连接健康检查参数非法（healthStrategy=" + healthStrategy
+                        + ", idleValidationInterval=" + idleValidationIntervalMillis + ", minEvictableIdle="
+                        + minEvictableIdleMillis + "）");
+            }
+            if (autoSizeMaxTotal > 0 && (autoSizeMinTotal <= 0 || autoSizeMinTotal > maxTotal
+                    || maxTotal > autoSizeMaxTotal || autoSizeIntervalMillis <= 0)) {
+                throw new IllegalArgumentException("自动伸缩参数非法（minTotal=" + autoSizeMinTotal + ", maxTotal="
+                        + maxTotal + ", upperBound=" + autoSizeMaxTotal + ", interval=" + autoSizeIntervalMillis + "）");
+            }
+            if (coalescingWriters < 0 || coalescingWriters > maxTotal) {
+                throw new IllegalArgumentException(
+                        "命令合并写出线程数非法（writers=" + coalescingWriters + ", maxTotal=" + maxTotal + "）");
+            }
+            if (vSimCacheSize < 0 || vSimCacheTtlMillis < 0) {
+                throw new IllegalArgumentException(
+                        "VSIM 缓存参数非法（maxEntries=" + vSimCacheSize + ", ttl=" + vSimCacheTtlMillis + "）");
+            }
+            if (semanticCacheSize < 0 || !(semanticCacheMinSimilarity > 0 && semanticCacheMinSimilarity <= 1)) {
+                throw new IllegalArgumentException("语义缓存参数非法（maxEntries=" + semanticCacheSize
+                        + ", minSimilarity=" + semanticCacheMinSimilarity + "）");
+            }
+            if (protocol == null) {
+                throw new IllegalArgumentException("协议版本不可为空");
+            }
+            if (nioTransport && coalescingWriters > 0) {
+                throw new IllegalArgumentException("NIO 传输层与命令合并不能同时启用");
+            }
+            if (nioTransport && autoSizeMaxTotal > 0) {
+                throw new IllegalArgumentException("NIO 传输层与连接池自动伸缩不能同时启用");
+            }
+            return new RedisVectorClient(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo;
+
+/**
+ * 连接池过载异常
+ * 在设定的等待时间内未能借到连接，或等待借用的调用方超过上限时抛出，命令未发送到 Redis。
+ * 调用方可据此快速失败或降级，而不是在连接池后无限排队
+ *
+ * @author tangzq
+ */
+public class RedisVectorOverloadException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RedisVectorOverloadException(String message) {
+        super(message);
+    }
+
+    public RedisVectorOverloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,68 +1,49 @@
 package com.example.demo;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
-
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.commands.ProtocolCommand;
-import redis.clients.jedis.exceptions.JedisException;
+import java.util.Map;
 
 /**
  * Redis向量工具类
  * 提供基于Redis的向量存储和相似度搜索功能
+ * 静态方法委托给默认的 {@link RedisVectorClient} 实例，连接池在首次执行命令时创建，需要独立连接池时请直接创建客户端
  *
  * @author tangzq
  */
 public class RedisVectorUtil {
 
-    private static final JedisPool jedisPool;
-    private static final Charset charset = StandardCharsets.UTF_8;
+    private static final RedisVectorClient client;
 
     static {
-        JedisPoolConfig poolConfig = new JedisPoolConfig();
-        poolConfig.setMaxTotal(30);
-        poolConfig.setMaxIdle(15);
-        poolConfig.setMinIdle(5);
-        poolConfig.setTestOnBorrow(true);
-        poolConfig.setTestWhileIdle(true);
-
-        String redisHost = "127.0.0.1";
-        int redisPort = 16379;
-        int timeout = 3000;
-        String redisPassword = null;
-        int database = 2;
-
-        jedisPool = new JedisPool(poolConfig, redisHost, redisPort, timeout, redisPassword, database);
+        client = RedisVectorClient.builder()
+                .host("127.0.0.1")
+                .port(16379)
+                .timeout(3000)
+                .database(2)
+                .maxTotal(30)
+                .maxIdle(15)
+                .minIdle(5)
+                .healthStrategy(ConnectionHealthStrategy.BACKGROUND)
+                .lazy(true)
+                .build();
     }
 
     /**
-     * 执行原始Redis命令
+     * 预热默认客户端，参见 {@link RedisVectorClient#warmUp()}
      *
-     * @param command 命令名称
-     * @param args 命令参数字节数组
-     * @param <T> 返回类型
-     * @return 命令执行结果
+     * @return 预热后连接池中的空闲连接数
      */
-    @SuppressWarnings("unchecked")
-    private static <T> T executeRawCommand(String command, byte[][] args) {
-        try (Jedis jedis = jedisPool.getResource()) {
-            ProtocolCommand customCommand = new ProtocolCommand() {
-                @Override
-                public byte[] getRaw() {
-                    return command.getBytes(charset);
-                }
-            };
-
-            Object rawResult = jedis.sendCommand(customCommand, args);
-            return (T) rawResult;
+    public static int warmUp() {
+        return client.warmUp();
+    }
 
-        } catch (JedisException e) {
-            throw new RuntimeException("执行 Redis 命令失败：command=" + command, e);
-        }
+    /**
+     * 获取默认客户端
+     *
+     * @return 静态方法使用的默认客户端
+     */
+    public static RedisVectorClient defaultClient() {
+        return client;
     }
 
     /**
@@ -75,7 +56,7 @@ public class RedisVectorUtil {
      * @return 成功添加返回1，失败返回0
      */
     public static Long vAdd(String key, int dim, float[] vector, String element) {
-        return vAdd(key, dim, vector, element, null, null, null, null, null, null);
+        return client.vAdd(key, dim, vector, element);
     }
 
     /**
@@ -95,51 +76,67 @@ public class RedisVectorUtil {
      */
     public static Long vAdd(String key, int dim, float[] vector, String element, Integer reduceDim, String quantType,
             Boolean cas, Integer ef, String attributes, Integer m) {
-        if (key == null || key.isEmpty() || vector == null || vector.length != dim || element == null) {
-            throw new IllegalArgumentException(
-                    "VADD 必填参数非法：key/vector/element 不可为空，vector长度需等于dim（当前dim=" + dim + ", vector长度=" + (
-                            vector == null ? 0 : vector.length) + "）");
-        }
-
-        List<byte[]> argsList = new ArrayList<>();
-        argsList.add(key.getBytes(charset));
-
-        if (reduceDim != null && reduceDim > 0) {
-            argsList.add("REDUCE".getBytes(charset));
-            argsList.add(String.valueOf(reduceDim).getBytes(charset));
-        }
-
-        argsList.add("VALUES".getBytes(charset));
-        argsList.add(String.valueOf(dim).getBytes(charset));
-
-        for (float f : vector) {
-            argsList.add(String.valueOf(f).getBytes(charset));
-        }
-
-        argsList.add(element.getBytes(charset));
-
-        if ("NOQUANT".equals(quantType) || "Q8".equals(quantType) || "BIN".equals(quantType)) {
-            argsList.add(quantType.getBytes(charset));
-        }
-        if (cas != null && cas) {
-            argsList.add("CAS".getBytes(charset));
-        }
-        if (ef != null && ef > 0) {
-            argsList.add("EF".getBytes(charset));
-            argsList.add(String.valueOf(ef).getBytes(charset));
-        }
-        if (attributes != null && !attributes.isEmpty()) {
-            argsList.add("SETATTR".getBytes(charset));
-            argsList.add(attributes.getBytes(charset));
-        }
-        if (m != null && m > 0) {
-            argsList.add("M".getBytes(charset));
-            argsList.add(String.valueOf(m).getBytes(charset));
-        }
-
-        byte[][] args = argsList.toArray(new byte[0][]);
-        Object result = executeRawCommand("VADD", args);
-        return result == null ? 0L : Long.parseLong(result.toString());
+        return client.vAdd(key, dim, vector, element, reduceDim, quantType, cas, ef, attributes, m);
+    }
+
+    /**
+     * 向向量索引中添加向量元素
+     *
+     * @param key 向量索引的键名
+     * @param vectorType 向量编码方式：VALUES（逐分量文本）/FP32（小端序二进制流，推荐）
+     * @param dim 向量维度
+     * @param vector 向量数据数组
+     * @param element 元素标识符
+     * @param reduceDim 降维后的维度大小
+     * @param quantType 量化类型：NOQUANT/Q8/BIN
+     * @param cas 是否进行CAS检查
+     * @param ef 搜索时的ef参数
+     * @param attributes 元素属性信息
+     * @param m HNSW算法的M参数
+     * @return 成功添加返回1，失败返回0
+     */
+    public static Long vAdd(String key, String vectorType, int dim, float[] vector, String element, Integer reduceDim,
+            String quantType, Boolean cas, Integer ef, String attributes, Integer m) {
+        return client.vAdd(key,
+                vectorType,
+                dim,
+                vector,
+                element,
+                reduceDim,
+                quantType,
+                cas,
+                ef,
+                attributes,
+                m);
+    }
+
+    /**
+     * 批量添加向量元素（管道模式）
+     * 使用默认刷新窗口：每1000条命令或每4MB数据刷新一次
+     *
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @return 按输入顺序记录的写入结果
+     */
+    public static VAddBatchResult vAddBatch(String key, Iterable<VectorRecord> records) {
+        return client.vAddBatch(key, records);
+    }
+
+    /**
+     * 批量添加向量元素（管道模式）
+     * 在同一连接上以 FP32 编码连续写出 VADD 命令，达到刷新窗口后统一读取回复，
+     * 单个元素的错误回复记录在结果中，不影响其他元素
+     *
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @param quantType 量化类型：NOQUANT/Q8/BIN，为null时使用服务端默认值
+     * @param flushCommands 每批最多命令数
+     * @param flushBytes 每批最多参数字节数
+     * @return 按输入顺序记录的写入结果
+     */
+    public static VAddBatchResult vAddBatch(String key, Iterable<VectorRecord> records, String quantType,
+            int flushCommands, long flushBytes) {
+        return client.vAddBatch(key, records, quantType, flushCommands, flushBytes);
     }
 
     /**
@@ -150,7 +147,7 @@ public class RedisVectorUtil {
      * @return 相似元素标识符列表
      */
     public static List<String> vSimByElement(String key, String element) {
-        return vSim(key, "ELE", element, null, false, false, 10, null, null, null, null);
+        return client.vSimByElement(key, element);
     }
 
     /**
@@ -172,96 +169,109 @@ public class RedisVectorUtil {
     public static List<String> vSim(String key, String vectorType, Object vectorOrElement, String filter,
             boolean withScores, boolean withAttribs, Integer count, Float epsilon, Integer ef, Integer filterEf,
             Boolean truth) {
-        if (key == null || key.isEmpty() || vectorType == null || vectorOrElement == null) {
-            throw new IllegalArgumentException("VSIM 必填参数非法：key/vectorType/vectorOrElement 不可为空");
-        }
-        if (!"ELE".equals(vectorType) && !"VALUES".equals(vectorType) && !"FP32".equals(vectorType)) {
-            throw new IllegalArgumentException("VSIM vectorType 非法：仅支持 ELE/VALUES/FP32（当前值=" + vectorType + "）");
-        }
-
-        List<byte[]> argsList = new ArrayList<>();
-        argsList.add(key.getBytes(charset));
-        argsList.add(vectorType.getBytes(charset));
-
-        if ("VALUES".equals(vectorType)) {
-            if (!(vectorOrElement instanceof String)) {
-                throw new IllegalArgumentException(
-                        "VSIM vectorType=VALUES 时，vectorOrElement 必须为字符串（格式：\"dim val1 val2 ...\"）");
-            }
-            String valuesStr = (String) vectorOrElement;
-            String[] valuesParts = valuesStr.trim().split("\\s+");
-            if (valuesParts.length < 1) {
-                throw new IllegalArgumentException("VSIM VALUES 格式错误：至少包含维度（当前值=" + valuesStr + "）");
-            }
-
-            int dim;
-            try {
-                dim = Integer.parseInt(valuesParts[0]);
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("VSIM VALUES 维度必须为整数（当前值=" + valuesParts[0] + "）", e);
-            }
-
-            if (valuesParts.length - 1 != dim) {
-                throw new IllegalArgumentException(
-                        "VSIM VALUES 向量值数量与维度不匹配（维度=" + dim + "，值数量=" + (valuesParts.length - 1) + "）");
-            }
-
-            for (String part : valuesParts) {
-                argsList.add(part.getBytes(charset));
-            }
-
-        } else if ("FP32".equals(vectorType)) {
-            if (!(vectorOrElement instanceof byte[])) {
-                throw new IllegalArgumentException("VSIM vectorType=FP32 时，vectorOrElement 必须为 byte[] 二进制流");
-            }
-            argsList.add((byte[]) vectorOrElement);
-
-        } else if ("ELE".equals(vectorType)) {
-            if (!(vectorOrElement instanceof String)) {
-                throw new IllegalArgumentException("VSIM vectorType=ELE 时，vectorOrElement 必须为元素标识字符串");
-            }
-            argsList.add(((String) vectorOrElement).getBytes(charset));
-        }
-
-        if (withScores) {
-            argsList.add("WITHSCORES".getBytes(charset));
-        }
-        if (withAttribs) {
-            argsList.add("WITHATTRIBS".getBytes(charset));
-        }
-        if (count != null && count > 0) {
-            argsList.add("COUNT".getBytes(charset));
-            argsList.add(String.valueOf(count).getBytes(charset));
-        }
-        if (epsilon != null && epsilon >= 0 && epsilon <= 1) {
-            argsList.add("EPSILON".getBytes(charset));
-            argsList.add(String.valueOf(epsilon).getBytes(charset));
-        }
-        if (ef != null && ef > 0) {
-            argsList.add("EF".getBytes(charset));
-            argsList.add(String.valueOf(ef).getBytes(charset));
-        }
-        if (filter != null && !filter.isEmpty()) {
-            argsList.add("FILTER".getBytes(charset));
-            argsList.add(filter.getBytes(charset));
-        }
-        if (filterEf != null && filterEf > 0) {
-            argsList.add("FILTER-EF".getBytes(charset));
-            argsList.add(String.valueOf(filterEf).getBytes(charset));
-        }
-        if (truth != null && truth) {
-            argsList.add("TRUTH".getBytes(charset));
-        }
-
-        byte[][] args = argsList.toArray(new byte[0][]);
-        List<byte[]> rawResult = executeRawCommand("VSIM", args);
-        List<String> resultList = new ArrayList<>();
-        if (rawResult != null && !rawResult.isEmpty()) {
-            for (byte[] bytes : rawResult) {
-                resultList.add(new String(bytes, charset));
-            }
-        }
-        return resultList;
+        return client.vSim(key,
+                vectorType,
+                vectorOrElement,
+                filter,
+                withScores,
+                withAttribs,
+                count,
+                epsilon,
+                ef,
+                filterEf,
+                truth);
+    }
+
+    /**
+     * 向量相似度搜索（直接传入查询向量）
+     * 查询向量按选项直接编码为 FP32 二进制流或 VALUES 逐分量参数，无需拼接和解析字符串
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似元素标识符列表，可能包含分数和属性信息
+     */
+    public static List<String> vSim(String key, float[] query, VSimOptions options) {
+        return client.vSim(key, query, options);
+    }
+
+    /**
+     * 向量相似度搜索，返回类型化结果
+     * 分数直接解析为 double，元素标识和属性在访问时才解码
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似度搜索结果
+     */
+    public static SimilarityResult vSimResult(String key, float[] query, VSimOptions options) {
+        return client.vSimResult(key, query, options);
+    }
+
+    /**
+     * 向量相似度搜索，结果写入调用方复用的缓冲区
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @param dst 结果缓冲区，原有内容被覆盖
+     * @return 结果数量
+     */
+    public static int vSim(String key, float[] query, VSimOptions options, SearchResultBuffer dst) {
+        return client.vSim(key, query, options, dst);
+    }
+
+    /**
+     * 向量相似度搜索，按相似度从高到低依次回调访问器
+     *
+     * @param key 向量索引的键名
+     * @param query 查询向量
+     * @param options 搜索选项，为null时使用默认选项
+     * @param visitor 结果访问器
+     * @return 结果数量
+     */
+    public static int vSim(String key, float[] query, VSimOptions options, SearchResultVisitor visitor) {
+        return client.vSim(key, query, options, visitor);
+    }
+
+    /**
+     * 批量向量相似度搜索（单连接管道模式）
+     *
+     * @param key 向量索引的键名
+     * @param queries 查询向量数组
+     * @param options 搜索选项，为null时使用默认选项，对所有查询生效
+     * @return 列式存储的批量搜索结果，按查询顺序排列
+     */
+    public static SimilarityBatchResult vSimBatch(String key, float[][] queries, VSimOptions options) {
+        return client.vSimBatch(key, queries, options);
+    }
+
+    /**
+     * 批量向量相似度搜索（多连接管道模式）
+     * 查询按顺序切分为若干连续分段，每个分段占用一个连接以管道方式发送，
+     * 每 256 条查询读取一次回复。单个查询的错误记录在结果中，不影响其他查询
+     *
+     * @param key 向量索引的键名
+     * @param queries 查询向量数组
+     * @param options 搜索选项，为null时使用默认选项，对所有查询生效
+     * @param connections 并行连接数，不应超过连接池 maxTotal
+     * @return 列式存储的批量搜索结果，按查询顺序排列
+     */
+    public static SimilarityBatchResult vSimBatch(String key, float[][] queries, VSimOptions options,
+            int connections) {
+        return client.vSimBatch(key, queries, options, connections);
+    }
+
+    /**
+     * 根据元素标识符进行向量相似度搜索，返回类型化结果
+     *
+     * @param key 向量索引的键名
+     * @param element 要搜索的元素标识符
+     * @param options 搜索选项，为null时使用默认选项
+     * @return 相似度搜索结果
+     */
+    public static SimilarityResult vSimResultByElement(String key, String element, VSimOptions options) {
+        return client.vSimResultByElement(key, element, options);
     }
 
     /**
@@ -283,9 +293,9 @@ public class RedisVectorUtil {
     public static List<String> vSim(String key, String vectorType, String vectorOrElement, String filter,
             boolean withScores, boolean withAttribs, Integer count, Float epsilon, Integer ef, Integer filterEf,
             Boolean truth) {
-        return vSim(key,
+        return client.vSim(key,
                 vectorType,
-                (Object) vectorOrElement,
+                vectorOrElement,
                 filter,
                 withScores,
                 withAttribs,
@@ -303,12 +313,7 @@ public class RedisVectorUtil {
      * @return 向量维度，如果索引不存在返回0
      */
     public static Integer vDim(String key) {
-        if (key == null || key.isEmpty()) {
-            throw new IllegalArgumentException("VDIM key 不可为空");
-        }
-        byte[][] args = new byte[][] { key.getBytes(charset) };
-        Object result = executeRawCommand("VDIM", args);
-        return result == null ? 0 : Integer.parseInt(result.toString());
+        return client.vDim(key);
     }
 
     /**
@@ -318,12 +323,7 @@ public class RedisVectorUtil {
      * @return 元素数量，如果索引不存在返回0
      */
     public static Long vCard(String key) {
-        if (key == null || key.isEmpty()) {
-            throw new IllegalArgumentException("VCARD key 不可为空");
-        }
-        byte[][] args = new byte[][] { key.getBytes(charset) };
-        Object result = executeRawCommand("VCARD", args);
-        return result == null ? 0L : Long.parseLong(result.toString());
+        return client.vCard(key);
     }
 
     /**
@@ -334,12 +334,7 @@ public class RedisVectorUtil {
      * @return 成功删除返回1，元素不存在返回0
      */
     public static Long vRem(String key, String element) {
-        if (key == null || key.isEmpty() || element == null) {
-            throw new IllegalArgumentException("VREM key/element 不可为空");
-        }
-        byte[][] args = new byte[][] { key.getBytes(charset), element.getBytes(charset) };
-        Object result = executeRawCommand("VREM", args);
-        return result == null ? 0L : Long.parseLong(result.toString());
+        return client.vRem(key, element);
     }
 
     /**
@@ -350,12 +345,7 @@ public class RedisVectorUtil {
      * @return 存在返回true，不存在返回false
      */
     public static Boolean vIsMember(String key, String element) {
-        if (key == null || key.isEmpty() || element == null) {
-            throw new IllegalArgumentException("VISMEMBER key/element 不可为空");
-        }
-        byte[][] args = new byte[][] { key.getBytes(charset), element.getBytes(charset) };
-        Object result = executeRawCommand("VISMEMBER", args);
-        return result != null && "1".equals(result.toString());
+        return client.vIsMember(key, element);
     }
 
     /**
@@ -363,30 +353,36 @@ public class RedisVectorUtil {
      *
      * @param key 向量索引的键名
      * @param element 元素标识符
-     * @param raw 是否返回原始字节数据
+     * @param raw 是否返回原始字节数据，RAW 模式的二进制回复请使用 {@link #vEmbVector(String, String)} 解码
      * @return 向量嵌入数据列表
      */
     public static List<String> vEmb(String key, String element, boolean raw) {
-        if (key == null || key.isEmpty() || element == null) {
-            throw new IllegalArgumentException("VEMB key/element 不可为空");
-        }
-
-        List<byte[]> argsList = new ArrayList<>();
-        argsList.add(key.getBytes(charset));
-        argsList.add(element.getBytes(charset));
-        if (raw) {
-            argsList.add("RAW".getBytes(charset));
-        }
-
-        byte[][] args = argsList.toArray(new byte[0][]);
-        List<byte[]> rawResult = executeRawCommand("VEMB", args);
-        List<String> resultList = new ArrayList<>();
-        if (rawResult != null && !rawResult.isEmpty()) {
-            for (byte[] bytes : rawResult) {
-                resultList.add(new String(bytes, charset));
-            }
-        }
-        return resultList;
+        return client.vEmb(key, element, raw);
+    }
+
+    /**
+     * 获取指定元素的向量嵌入（RAW 二进制模式）
+     * 直接解析 VEMB RAW 回复并在客户端完成 Q8/BIN 反量化，BIN 量化的索引会额外执行一次 VDIM 获取维度
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @return 向量数据数组，元素不存在时返回null
+     */
+    public static float[] vEmbVector(String key, String element) {
+        return client.vEmbVector(key, element);
+    }
+
+    /**
+     * 获取指定元素的向量嵌入（RAW 二进制模式）并写入调用方提供的缓冲区
+     *
+     * @param key 向量索引的键名
+     * @param element 元素标识符
+     * @param dst 目标缓冲区，长度不小于向量维度；BIN 量化时按缓冲区长度作为维度
+     * @param normalized true 返回归一化向量（适合余弦重排），false 返回原始尺度向量
+     * @return 向量维度，元素不存在时返回-1
+     */
+    public static int vEmbVector(String key, String element, float[] dst, boolean normalized) {
+        return client.vEmbVector(key, element, dst, normalized);
     }
 
     /**
@@ -398,14 +394,7 @@ public class RedisVectorUtil {
      * @return 成功设置返回1，失败返回0
      */
     public static Long vSetAttr(String key, String element, String attributes) {
-        if (key == null || key.isEmpty() || element == null) {
-            throw new IllegalArgumentException("VSETATTR key/element 不可为空");
-        }
-        String attr = attributes == null ? "" : attributes;
-
-        byte[][] args = new byte[][] { key.getBytes(charset), element.getBytes(charset), attr.getBytes(charset) };
-        Object result = executeRawCommand("VSETATTR", args);
-        return result == null ? 0L : Long.parseLong(result.toString());
+        return client.vSetAttr(key, element, attributes);
     }
 
     /**
@@ -416,16 +405,7 @@ public class RedisVectorUtil {
      * @return 元素的属性信息字符串，如果不存在返回null
      */
     public static String vGetAttr(String key, String element) {
-        if (key == null || key.isEmpty() || element == null) {
-            throw new IllegalArgumentException("VGETATTR key/element 不可为空");
-        }
-
-        byte[][] args = new byte[][] { key.getBytes(charset), element.getBytes(charset) };
-        Object result = executeRawCommand("VGETATTR", args);
-        if (result instanceof byte[]) {
-            return new String((byte[]) result, charset);
-        }
-        return result == null ? null : result.toString();
+        return client.vGetAttr(key, element);
     }
 
     /**
@@ -438,20 +418,7 @@ public class RedisVectorUtil {
      * @return 元素标识符列表
      */
     public static List<String> vRange(String key, String start, String end, int count) {
-        if (key == null || key.isEmpty() || start == null || end == null) {
-            throw new IllegalArgumentException("VRANGE key/start/end 不可为空");
-        }
-
-        byte[][] args = new byte[][] { key.getBytes(charset), start.getBytes(charset), end.getBytes(charset),
-                String.valueOf(count).getBytes(charset) };
-        List<byte[]> rawResult = executeRawCommand("VRANGE", args);
-        List<String> resultList = new ArrayList<>();
-        if (rawResult != null && !rawResult.isEmpty()) {
-            for (byte[] bytes : rawResult) {
-                resultList.add(new String(bytes, charset));
-            }
-        }
-        return resultList;
+        return client.vRange(key, start, end, count);
     }
 
     /**
@@ -462,30 +429,7 @@ public class RedisVectorUtil {
      * @return 随机元素标识符列表
      */
     public static List<String> vRandMember(String key, int count) {
-        if (key == null || key.isEmpty()) {
-            throw new IllegalArgumentException("VRANDMEMBER key 不可为空");
-        }
-
-        List<byte[]> argsList = new ArrayList<>();
-        argsList.add(key.getBytes(charset));
-        if (count != 0) {
-            argsList.add(String.valueOf(count).getBytes(charset));
-        }
-
-        byte[][] args = argsList.toArray(new byte[0][]);
-        Object rawResult = executeRawCommand("VRANDMEMBER", args);
-        List<String> resultList = new ArrayList<>();
-
-        if (rawResult instanceof byte[]) {
-            resultList.add(new String((byte[]) rawResult, charset));
-        } else if (rawResult instanceof List) {
-            for (Object obj : (List<?>) rawResult) {
-                if (obj instanceof byte[]) {
-                    resultList.add(new String((byte[]) obj, charset));
-                }
-            }
-        }
-        return resultList;
+        return client.vRandMember(key, count);
     }
 
     /**
@@ -495,34 +439,23 @@ public class RedisVectorUtil {
      * @return 索引信息列表，包含维度、元素数量等统计信息
      */
     public static List<String> vInfo(String key) {
-        if (key == null || key.isEmpty()) {
-            throw new IllegalArgumentException("VINFO key 不可为空");
-        }
-
-        byte[][] args = new byte[][] { key.getBytes(charset) };
-        Object rawResult = executeRawCommand("VINFO", args);
-        List<String> resultList = new ArrayList<>();
-
-        if (rawResult instanceof List) {
-            for (Object item : (List<?>) rawResult) {
-                if (item instanceof byte[]) {
-                    resultList.add(new String((byte[]) item, charset));
-                } else if (item instanceof Long) {
-                    resultList.add(String.valueOf(item));
-                } else {
-                    resultList.add(item == null ? "null" : item.toString());
-                }
-            }
-        }
-        return resultList;
+        return client.vInfo(key);
+    }
+
+    /**
+     * 获取向量索引的详细信息（键值形式）
+     *
+     * @param key 向量索引的键名
+     * @return 索引信息，索引不存在时返回空映射
+     */
+    public static Map<String, Object> vInfoMap(String key) {
+        return client.vInfoMap(key);
     }
 
     /**
      * 关闭Redis连接池
      */
     public static void closeJedisPool() {
-        if (jedisPool != null && !jedisPool.isClosed()) {
-            jedisPool.close();
-        }
+        client.close();
     }
 }
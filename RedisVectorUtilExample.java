@@ -1,6 +1,8 @@
 package com.example.demo;
 
 import cn.hutool.json.JSONUtil;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -15,12 +17,17 @@ public class RedisVectorUtilExample {
     private static final List<Service> SERVICES = Service.getSERVICES();
     // 键名
     private static final String VECTOR_INDEX_KEY = "services";
+    // 文本向量缓存，重启后复用，未变化的服务描述不再重复向量化
+    private static final MappedEmbeddingCache EMBEDDINGS = new MappedEmbeddingCache(Paths.get("embedding-cache.bin"),
+            RedisVectorUtilExample::getEmbedding);
 
     public static void main(String[] args) {
         try {
 
             // init(); // 初始化
 
+            RedisVectorUtil.warmUp();
+
             search("台风");
 
             Scanner scanner = new Scanner(System.in);
@@ -38,47 +45,42 @@ public class RedisVectorUtilExample {
 
         } finally {
             RedisVectorUtil.closeJedisPool();
+            EMBEDDINGS.close();
         }
     }
 
     public static void init() {
         System.out.println("===  初始化 ===");
 
+        List<Service> services = new ArrayList<>();
+        List<VectorRecord> records = new ArrayList<>();
         for (Service service : SERVICES) {
             try {
                 //  服务文本描述向量化
                 String serviceText = service.toVecText();
-                List<Float> embedding = EmbeddingUtil.getEmbedding(serviceText);
-
-                // 转换为float数组
-                float[] vector = new float[embedding.size()];
-                for (int i = 0; i < embedding.size(); i++) {
-                    vector[i] = embedding.get(i);
-                }
+                float[] vector = EMBEDDINGS.embed(serviceText);
 
                 // 添加服务属性信息
                 String attributes = JSONUtil.toJsonStr(service);
 
-                // 存储向量索引
-                Long result = RedisVectorUtil.vAdd(VECTOR_INDEX_KEY,
-                        embedding.size(),
-                        vector,
-                        service.toElementId(),
-                        null,
-                        null,
-                        false,
-                        null,
-                        attributes,
-                        null);
-
-                if (result == 1L) {
-                    System.out.println("添加成功: " + service.name);
-                } else {
-                    System.out.println("添加失败: " + service.name);
-                }
+                services.add(service);
+                records.add(new VectorRecord(service.toElementId(), vector, attributes));
 
             } catch (Exception e) {
-                System.err.println("添加服务异常: " + service.name + ", 错误: " + e.getMessage());
+                System.err.println("服务向量化异常: " + service.name + ", 错误: " + e.getMessage());
+            }
+        }
+
+        // 批量存储向量索引
+        VAddBatchResult result = RedisVectorUtil.vAddBatch(VECTOR_INDEX_KEY, records);
+        for (int i = 0; i < result.size(); i++) {
+            Service service = services.get(i);
+            if (result.isError(i)) {
+                System.err.println("添加服务异常: " + service.name + ", 错误: " + result.getError(i));
+            } else if (result.getResult(i) == 1L) {
+                System.out.println("添加成功: " + service.name);
+            } else {
+                System.out.println("添加失败: " + service.name);
             }
         }
 
@@ -90,44 +92,20 @@ public class RedisVectorUtilExample {
 
         try {
             //  向量化
-            List<Float> queryEmbedding = EmbeddingUtil.getEmbedding(userQuery);
-            float[] queryVector = new float[queryEmbedding.size()];
-            for (int i = 0; i < queryEmbedding.size(); i++) {
-                queryVector[i] = queryEmbedding.get(i);
-            }
-
-            StringBuilder vectorValues = new StringBuilder();
-            vectorValues.append(queryVector.length);
-            for (float value : queryVector) {
-                vectorValues.append(" ").append(value);
-            }
+            float[] queryVector = EMBEDDINGS.embed(userQuery);
 
             // 相似搜索
-            List<String> results = RedisVectorUtil.vSim(VECTOR_INDEX_KEY,
-                    "VALUES",
-                    vectorValues.toString(),
-                    null,
-                    true,
-                    true,
-                    5,
-                    0.25f,
-                    null,
-                    null,
-                    false);
+            SimilarityResult results = RedisVectorUtil.vSimResult(VECTOR_INDEX_KEY,
+                    queryVector,
+                    VSimOptions.create().withScores(true).withAttribs(true).count(5).epsilon(0.25f));
 
             System.out.println("查询: \"" + userQuery + "\" 的搜索结果:");
 
-            for (int i = 0; i < results.size(); i += 3) {
-                if (i + 2 < results.size()) {
-                    String elementId = results.get(i);
-                    String score = results.get(i + 1);
-                    String attributes = results.get(i + 2);
-
-                    System.out.println((i / 3 + 1) + ". 服务ID: " + elementId);
-                    System.out.println("   相似度: " + score);
-                    System.out.println("   属性: " + attributes);
-                    System.out.println();
-                }
+            for (int i = 0; i < results.size(); i++) {
+                System.out.println((i + 1) + ". 服务ID: " + results.getId(i));
+                System.out.println("   相似度: " + results.getScore(i));
+                System.out.println("   属性: " + results.getAttributes(i));
+                System.out.println();
             }
 
         } catch (Exception e) {
@@ -135,4 +113,20 @@ public class RedisVectorUtilExample {
         }
     }
 
+    /**
+     * 调用嵌入模型，仅在缓存未命中时执行
+     */
+    private static float[] getEmbedding(String text) {
+        try {
+            List<Float> embedding = EmbeddingUtil.getEmbedding(text);
+            float[] vector = new float[embedding.size()];
+            for (int i = 0; i < embedding.size(); i++) {
+                vector[i] = embedding.get(i);
+            }
+            return vector;
+        } catch (Exception e) {
+            throw new RuntimeException("文本向量化失败：" + text, e);
+        }
+    }
+
 }
@@ -0,0 +1,791 @@
+package com.example.demo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * 基于 NIO SocketChannel 的 RESP 连接
+ * 通道为非阻塞模式，读写等待通过连接独占的 Selector 实现超时；读写缓冲区为随连接复用的直接内存，
+ * 命令直接编码进写缓冲区，回复在读缓冲区中原地解析：整数、分数不经过 byte[] 和 String，
+ * VEMB 的向量二进制流直接解码到调用方的 float[]。非线程安全，同一时刻只能由一个线程使用
+ *
+ * <p>同时支持 RESP2 和 RESP3 回复：RESP3 的映射按 Jedis 的习惯表示为 {@link Map.Entry} 列表，
+ * 双精度浮点为 Double，布尔为 Boolean；推送和属性帧不属于命令回复，读取时直接跳过</p>
+ *
+ * @author tangzq
+ */
+final class RespConnection implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int QUANT_F32 = 0;
+    private static final int QUANT_Q8 = 1;
+    private static final int QUANT_BIN = 2;
+
+    private static final Consumer<SelectionKey> IGNORE_READY_KEY = key -> {
+    };
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final SelectionKey selectionKey;
+    private final int socketTimeoutMillis;
+
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * 分数、量化类型等短字段的解析缓冲区
+     */
+    private byte[] scratch = new byte[64];
+
+    private boolean broken;
+
+    RespConnection(String host, int port, int connectionTimeoutMillis, int socketTimeoutMillis) {
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        SocketChannel channel = null;
+        Selector selector = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            selector = Selector.open();
+            this.selectionKey = channel.register(selector, SelectionKey.OP_CONNECT);
+            this.channel = channel;
+            this.selector = selector;
+
+            if (!channel.connect(new InetSocketAddress(host, port))) {
+                while (!channel.finishConnect()) {
+                    await(SelectionKey.OP_CONNECT, connectionTimeoutMillis);
+                }
+            }
+            readBuffer.flip();
+
+        } catch (IOException e) {
+            closeQuietly(channel, selector);
+            throw new JedisConnectionException("连接 Redis 失败：" + host + ":" + port, e);
+        }
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    void markBroken() {
+        broken = true;
+    }
+
+    /**
+     * 编码并写出一条命令
+     */
+    void writeCommand(ProtocolCommand command, byte[]... args) {
+        try {
+            writeBuffer.clear();
+            putHeader('*', args.length + 1);
+            putBulk(command.getRaw());
+            for (byte[] arg : args) {
+                putBulk(arg);
+            }
+            flushWrites();
+        } catch (IOException e) {
+            throw connectionError("写出命令失败", e);
+        }
+    }
+
+    /**
+     * 读取一个完整回复，返回与 Jedis 一致的对象类型：状态和批量字符串为 byte[]，整数为 Long，数组和集合为 List，
+     * 映射为 Map.Entry 列表，双精度浮点为 Double，布尔为 Boolean
+     *
+     * @throws JedisDataException 服务端返回错误回复
+     */
+    Object readReply() {
+        Object reply = read();
+        if (reply instanceof JedisDataException) {
+            throw (JedisDataException) reply;
+        }
+        return reply;
+    }
+
+    private Object read() {
+        try {
+            byte type = readType();
+            switch (type) {
+            case '+':
+                return readLine();
+            case '-':
+                return new JedisDataException(new String(readLine(), StandardCharsets.UTF_8));
+            case '!':
+                return new JedisDataException(new String(readBulkBody(), StandardCharsets.UTF_8));
+            case ':':
+                return readLongLine();
+            case '$':
+                return readBulkBody();
+            case '=':
+                return readVerbatimBody();
+            case ',':
+                return VectorCodec.parseDouble(scratch, 0, readLineInto());
+            case '#':
+                return readLineInto() == 1 && scratch[0] == 't';
+            case '(':
+                return new BigInteger(new String(scratch, 0, readLineInto(), StandardCharsets.US_ASCII));
+            case '_':
+                readByte();
+                readByte();
+                return null;
+            case '*':
+            case '~': {
+                long count = readLongLine();
+                if (count < 0) {
+                    return null;
+                }
+                List<Object> list = new ArrayList<>((int) count);
+                for (long i = 0; i < count; i++) {
+                    list.add(read());
+                }
+                return list;
+            }
+            case '%': {
+                long count = readLongLine();
+                List<Object> entries = new ArrayList<>((int) count);
+                for (long i = 0; i < count; i++) {
+                    Object key = read();
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(key, read()));
+                }
+                return entries;
+            }
+            default:
+                throw protocolError(type);
+            }
+        } catch (IOException e) {
+            throw connectionError("读取回复失败", e);
+        }
+    }
+
+    /**
+     * 原地解析 VSIM 回复
+     * RESP2 为按位置交错的数组；RESP3 带 WITHSCORES 或 WITHATTRIBS 时为元素到分数（或属性、[分数, 属性]）的映射
+     *
+     * @param withScores 请求时是否带 WITHSCORES
+     * @param withAttribs 请求时是否带 WITHATTRIBS
+     * @return 搜索结果
+     */
+    SimilarityResult readSimilarityResult(boolean withScores, boolean withAttribs) {
+        try {
+            byte type = readType();
+            if (type == '-') {
+                throw new JedisDataException(new String(readLine(), StandardCharsets.UTF_8));
+            }
+            if (type == '%') {
+                return readSimilarityMap(withScores, withAttribs);
+            }
+            if (type != '*' && type != '~') {
+                throw protocolError(type);
+            }
+            long count = readLongLine();
+            int stride = 1 + (withScores ? 1 : 0) + (withAttribs ? 1 : 0);
+            int size = count <= 0 ? 0 : (int) (count / stride);
+            if (count > 0 && count % stride != 0) {
+                throw new IllegalStateException("VSIM 回复长度与请求选项不匹配（回复长度=" + count + "，步长=" + stride + "）");
+            }
+
+            byte[][] ids = new byte[size][];
+            double[] scores = withScores ? new double[size] : null;
+            byte[][] attributes = withAttribs ? new byte[size][] : null;
+            for (int i = 0; i < size; i++) {
+                ids[i] = readBulk();
+                if (withScores) {
+                    scores[i] = readDouble();
+                }
+                if (withAttribs) {
+                    attributes[i] = readBulk();
+                }
+            }
+            return new SimilarityResult(size, ids, scores, attributes);
+
+        } catch (IOException e) {
+            throw connectionError("读取 VSIM 回复失败", e);
+        }
+    }
+
+    private SimilarityResult readSimilarityMap(boolean withScores, boolean withAttribs) throws IOException {
+        int size = (int) readLongLine();
+        byte[][] ids = new byte[size][];
+        double[] scores = withScores ? new double[size] : null;
+        byte[][] attributes = withAttribs ? new byte[size][] : null;
+        for (int i = 0; i < size; i++) {
+            ids[i] = readBulk();
+            if (withScores && withAttribs) {
+                byte type = readType();
+                if ((type != '*' && type != '~') || readLongLine() != 2) {
+                    throw new IllegalStateException("VSIM RESP3 回复格式非法：期望 [分数, 属性]");
+                }
+                scores[i] = readDouble();
+                attributes[i] = readBulk();
+            } else if (withScores) {
+                scores[i] = readDouble();
+            } else if (withAttribs) {
+                attributes[i] = readBulk();
+            } else {
+                read();
+            }
+        }
+        return new SimilarityResult(size, ids, scores, attributes);
+    }
+
+    /**
+     * 解析 VSIM 回复并写入结果缓冲区，元素标识和属性从读缓冲区直接复制到缓冲区的堆外字节区，不产生分配
+     *
+     * @param dst 结果缓冲区，已按请求选项调用 begin
+     * @return 结果缓冲区
+     */
+    SearchResultBuffer readSearchResult(SearchResultBuffer dst) {
+        boolean withScores = dst.hasScores();
+        boolean withAttribs = dst.hasAttributes();
+        try {
+            byte type = readType();
+            if (type == '-') {
+                throw new JedisDataException(new String(readLine(), StandardCharsets.UTF_8));
+            }
+            boolean map = type == '%';
+            if (!map && type != '*' && type != '~') {
+                throw protocolError(type);
+            }
+            long count = readLongLine();
+            int stride = map ? 1 : 1 + (withScores ? 1 : 0) + (withAttribs ? 1 : 0);
+            if (count > 0 && count % stride != 0) {
+                throw new IllegalStateException("VSIM 回复长度与请求选项不匹配（回复长度=" + count + "，步长=" + stride + "）");
+            }
+            long size = count <= 0 ? 0 : count / stride;
+            for (long i = 0; i < size; i++) {
+                int index = dst.add();
+                readBulkInto(dst.ids(), index);
+                if (map && withScores && withAttribs) {
+                    byte pair = readType();
+                    if ((pair != '*' && pair != '~') || readLongLine() != 2) {
+                        throw new IllegalStateException("VSIM RESP3 回复格式非法：期望 [分数, 属性]");
+                    }
+                }
+                if (withScores) {
+                    dst.setScore(index, (float) readDouble());
+                }
+                if (withAttribs) {
+                    readBulkInto(dst.attributes(), index);
+                }
+                if (map && !withScores && !withAttribs) {
+                    read();
+                }
+            }
+            return dst;
+
+        } catch (IOException e) {
+            throw connectionError("读取 VSIM 回复失败", e);
+        }
+    }
+
+    /**
+     * 读取批量字符串并复制到堆外字节区
+     */
+    private void readBulkInto(SearchResultBuffer.ByteArena arena, int index) throws IOException {
+        byte type = readType();
+        if (type == '_') {
+            readByte();
+            readByte();
+            arena.putNull(index);
+            return;
+        }
+        if (type == '+') {
+            arena.put(index, readLine());
+            return;
+        }
+        if (type != '$' && type != '=') {
+            throw protocolError(type);
+        }
+        int length = (int) readLongLine();
+        if (length < 0) {
+            arena.putNull(index);
+            return;
+        }
+        if (type == '=') {
+            // 去掉 "txt:" 格式前缀
+            skip(4);
+            length -= 4;
+        }
+        ByteBuffer target = arena.reserve(index, length);
+        int remaining = length;
+        while (remaining > 0) {
+            if (!readBuffer.hasRemaining()) {
+                fill();
+            }
+            int count = Math.min(remaining, readBuffer.remaining());
+            int limit = readBuffer.limit();
+            readBuffer.limit(readBuffer.position() + count);
+            target.put(readBuffer);
+            readBuffer.limit(limit);
+            remaining -= count;
+        }
+        readByte();
+        readByte();
+    }
+
+    private void skip(int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            readByte();
+        }
+    }
+
+    /**
+     * 原地解析 VEMB RAW 回复，向量二进制流直接解码到目标缓冲区
+     *
+     * @param dst 目标缓冲区，长度不小于向量维度；BIN 量化时按缓冲区长度作为维度
+     * @param normalized true 返回归一化向量，false 返回乘以L2范数后的原始尺度向量
+     * @return 向量维度，元素不存在时返回-1
+     */
+    int readRawEmbedding(float[] dst, boolean normalized) {
+        try {
+            byte type = readType();
+            if (type == '-') {
+                throw new JedisDataException(new String(readLine(), StandardCharsets.UTF_8));
+            }
+            if (type == '_') {
+                readByte();
+                readByte();
+                return -1;
+            }
+            if (type == '$' && readLongLine() < 0) {
+                return -1;
+            }
+            if (type != '*') {
+                throw protocolError(type);
+            }
+            long count = readLongLine();
+            if (count < 0) {
+                return -1;
+            }
+            if (count < 3) {
+                throw new IllegalStateException("VEMB RAW 回复格式非法：元素数量=" + count);
+            }
+
+            int quant = readQuantType();
+            byte blobType = readByte();
+            if (blobType != '$') {
+                throw protocolError(blobType);
+            }
+            long blobLength = readLongLine();
+            int length = readBlob(quant, blobLength, dst);
+            readByte();
+            readByte();
+
+            float scale = normalized ? 1f : (float) readDouble();
+            if (normalized) {
+                readDouble();
+            }
+            if (quant == QUANT_Q8) {
+                if (count < 4) {
+                    throw new IllegalStateException("VEMB RAW Q8 回复缺少量化范围");
+                }
+                scale *= (float) readDouble() / 127f;
+                count--;
+            }
+            for (long i = 3; i < count; i++) {
+                read();
+            }
+
+            if (scale != 1f) {
+                for (int i = 0; i < length; i++) {
+                    dst[i] *= scale;
+                }
+            }
+            return length;
+
+        } catch (IOException e) {
+            throw connectionError("读取 VEMB 回复失败", e);
+        }
+    }
+
+    /**
+     * 按量化类型把二进制流解码到目标缓冲区（尚未乘以范数和量化范围）
+     */
+    private int readBlob(int quant, long blobLength, float[] dst) throws IOException {
+        switch (quant) {
+        case QUANT_F32: {
+            int length = (int) (blobLength / VectorCodec.FP32_BYTES);
+            checkCapacity(dst, length);
+            int i = 0;
+            while (i < length) {
+                ensure(VectorCodec.FP32_BYTES);
+                int available = Math.min(length - i, readBuffer.remaining() / VectorCodec.FP32_BYTES);
+                for (int end = i + available; i < end; i++) {
+                    dst[i] = readBuffer.getFloat();
+                }
+            }
+            return length;
+        }
+        case QUANT_Q8: {
+            int length = (int) blobLength;
+            checkCapacity(dst, length);
+            for (int i = 0; i < length; i++) {
+                dst[i] = readByte();
+            }
+            return length;
+        }
+        default: {
+            int length = dst.length;
+            if (length <= 0 || length > blobLength * 8) {
+                throw new IllegalArgumentException(
+                        "VEMB RAW BIN 解码需要有效维度（当前dim=" + length + ", 位数=" + blobLength * 8 + "）");
+            }
+            for (long j = 0; j < blobLength; j++) {
+                int bits = readByte();
+                int base = (int) (j << 3);
+                for (int k = 0; k < 8 && base + k < length; k++) {
+                    dst[base + k] = (bits & (1 << k)) != 0 ? 1f : -1f;
+                }
+            }
+            return length;
+        }
+        }
+    }
+
+    private int readQuantType() throws IOException {
+        byte type = readType();
+        int length;
+        if (type == '+') {
+            length = readLineInto();
+        } else if (type == '$' || type == '=') {
+            length = (int) readLongLine();
+            readInto(length);
+            readByte();
+            readByte();
+            if (type == '=') {
+                // 去掉 "txt:" 格式前缀
+                length -= 4;
+                System.arraycopy(scratch, 4, scratch, 0, length);
+            }
+        } else {
+            throw protocolError(type);
+        }
+        if (matches("f32", length) || matches("fp32", length) || matches("noquant", length)) {
+            return QUANT_F32;
+        }
+        if (matches("int8", length) || matches("q8", length)) {
+            return QUANT_Q8;
+        }
+        if (matches("bin", length)) {
+            return QUANT_BIN;
+        }
+        throw new IllegalStateException(
+                "VEMB RAW 量化类型未知：" + new String(scratch, 0, length, StandardCharsets.US_ASCII));
+    }
+
+    private boolean matches(String name, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (scratch[i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkCapacity(float[] dst, int length) {
+        if (dst.length < length) {
+            throw new IllegalArgumentException("目标缓冲区长度不足（需要=" + length + ", 实际=" + dst.length + "）");
+        }
+    }
+
+    /**
+     * 读取浮点数，RESP2 批量字符串和 RESP3 双精度浮点都在解析缓冲区中直接解析
+     */
+    private double readDouble() throws IOException {
+        byte type = readType();
+        switch (type) {
+        case '$': {
+            int length = (int) readLongLine();
+            readInto(length);
+            readByte();
+            readByte();
+            return VectorCodec.parseDouble(scratch, 0, length);
+        }
+        case '+':
+        case ',':
+            return VectorCodec.parseDouble(scratch, 0, readLineInto());
+        case ':':
+            return readLongLine();
+        default:
+            throw protocolError(type);
+        }
+    }
+
+    /**
+     * 读取批量字符串，空回复返回null
+     */
+    private byte[] readBulk() throws IOException {
+        byte type = readType();
+        if (type == '$') {
+            return readBulkBody();
+        }
+        if (type == '+') {
+            return readLine();
+        }
+        if (type == '=') {
+            return readVerbatimBody();
+        }
+        if (type == '_') {
+            readByte();
+            readByte();
+            return null;
+        }
+        if (type == '*' && readLongLine() < 0) {
+            return null;
+        }
+        throw protocolError(type);
+    }
+
+    private byte[] readBulkBody() throws IOException {
+        long length = readLongLine();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!readBuffer.hasRemaining()) {
+                fill();
+            }
+            int count = Math.min(readBuffer.remaining(), bytes.length - offset);
+            readBuffer.get(bytes, offset, count);
+            offset += count;
+        }
+        readByte();
+        readByte();
+        return bytes;
+    }
+
+    /**
+     * 读取 RESP3 原样字符串，去掉 "txt:" 之类的格式前缀
+     */
+    private byte[] readVerbatimBody() throws IOException {
+        byte[] bytes = readBulkBody();
+        return bytes == null || bytes.length < 4 ? bytes : Arrays.copyOfRange(bytes, 4, bytes.length);
+    }
+
+    /**
+     * 读取下一个回复的类型标记，跳过 RESP3 推送帧和属性帧
+     */
+    private byte readType() throws IOException {
+        while (true) {
+            byte type = readByte();
+            if (type != '>' && type != '|') {
+                return type;
+            }
+            long count = readLongLine();
+            long elements = type == '|' ? count * 2 : count;
+            for (long i = 0; i < elements; i++) {
+                read();
+            }
+        }
+    }
+
+    /**
+     * 读取指定长度的字节到解析缓冲区
+     */
+    private void readInto(int length) throws IOException {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length << 1)];
+        }
+        int offset = 0;
+        while (offset < length) {
+            if (!readBuffer.hasRemaining()) {
+                fill();
+            }
+            int count = Math.min(readBuffer.remaining(), length - offset);
+            readBuffer.get(scratch, offset, count);
+            offset += count;
+        }
+    }
+
+    /**
+     * 读取一行到解析缓冲区
+     *
+     * @return 行长度（不含 CRLF）
+     */
+    private int readLineInto() throws IOException {
+        int length = 0;
+        byte b;
+        while ((b = readByte()) != '\r') {
+            if (length == scratch.length) {
+                scratch = Arrays.copyOf(scratch, length << 1);
+            }
+            scratch[length++] = b;
+        }
+        readByte();
+        return length;
+    }
+
+    private byte[] readLine() throws IOException {
+        return Arrays.copyOf(scratch, readLineInto());
+    }
+
+    private long readLongLine() throws IOException {
+        byte b = readByte();
+        boolean negative = b == '-';
+        if (negative) {
+            b = readByte();
+        }
+        long value = 0;
+        while (b != '\r') {
+            value = value * 10 + (b - '0');
+            b = readByte();
+        }
+        readByte();
+        return negative ? -value : value;
+    }
+
+    private byte readByte() throws IOException {
+        if (!readBuffer.hasRemaining()) {
+            fill();
+        }
+        return readBuffer.get();
+    }
+
+    private void ensure(int length) throws IOException {
+        while (readBuffer.remaining() < length) {
+            fill();
+        }
+    }
+
+    private void fill() throws IOException {
+        readBuffer.compact();
+        try {
+            int count;
+            while ((count = channel.read(readBuffer)) == 0) {
+                await(SelectionKey.OP_READ, socketTimeoutMillis);
+            }
+            if (count < 0) {
+                throw new EOFException("Redis 关闭了连接");
+            }
+        } finally {
+            readBuffer.flip();
+        }
+    }
+
+    /**
+     * 写入类型标记和非负十进制长度，直接写入字节，不经过 String
+     */
+    private void putHeader(char type, int value) throws IOException {
+        reserve(13);
+        writeBuffer.put((byte) type);
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            writeBuffer.put((byte) ('0' + value / divisor % 10));
+        }
+        writeBuffer.put((byte) '\r').put((byte) '\n');
+    }
+
+    private void putBulk(byte[] arg) throws IOException {
+        putHeader('$', arg.length);
+        if (arg.length > writeBuffer.remaining()) {
+            flushWrites();
+            if (arg.length > writeBuffer.capacity()) {
+                writeFully(ByteBuffer.wrap(arg));
+                reserve(2);
+                writeBuffer.put((byte) '\r').put((byte) '\n');
+                return;
+            }
+        }
+        writeBuffer.put(arg);
+        reserve(2);
+        writeBuffer.put((byte) '\r').put((byte) '\n');
+    }
+
+    private void reserve(int length) throws IOException {
+        if (writeBuffer.remaining() < length) {
+            flushWrites();
+        }
+    }
+
+    private void flushWrites() throws IOException {
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                await(SelectionKey.OP_WRITE, socketTimeoutMillis);
+            }
+        }
+    }
+
+    /**
+     * 等待通道就绪
+     *
+     * @param timeoutMillis 超时毫秒数，0表示无限等待
+     * @throws SocketTimeoutException 超时未就绪，与阻塞 Socket 的读超时一致，调用方据此区分超时和连接断开
+     */
+    private void await(int ops, int timeoutMillis) throws IOException {
+        if (selectionKey.interestOps() != ops) {
+            selectionKey.interestOps(ops);
+        }
+        // 以回调形式等待，就绪的键不进入 selectedKeys 集合，避免每次等待分配集合节点
+        int ready = selector.select(IGNORE_READY_KEY, timeoutMillis);
+        if (ready == 0) {
+            throw new SocketTimeoutException("等待 Redis 超时：timeout=" + timeoutMillis + "ms");
+        }
+    }
+
+    private JedisConnectionException connectionError(String message, IOException e) {
+        broken = true;
+        return new JedisConnectionException(message, e);
+    }
+
+    private JedisConnectionException protocolError(byte type) {
+        broken = true;
+        return new JedisConnectionException("RESP 回复类型非法：" + (char) type);
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        closeQuietly(channel, selector);
+    }
+
+    private static void closeQuietly(SocketChannel channel, Selector selector) {
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // 关闭失败不影响后续使用
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 可复用的 VSIM 搜索结果缓冲区
+ * 分数存放在 float 数组中，元素标识和属性依次写入堆外字节区，每个结果只记录偏移和长度。
+ * 启用 NIO 传输层时解码器直接从套接字读缓冲区写入本缓冲区，容量在预热阶段增长到位后每次查询不再产生分配。
+ * 非线程安全，由调用方持有并在同一线程内复用
+ *
+ * <pre>
+ * SearchResultBuffer buffer = new SearchResultBuffer();
+ * client.vSim("services", query, options, buffer);
+ * for (int i = 0; i &lt; buffer.size(); i++) {
+ *     if (buffer.getScore(i) &gt; 0.8f) { ... }
+ * }
+ * </pre>
+ *
+ * @author tangzq
+ */
+public final class SearchResultBuffer {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    private float[] scores;
+    private final ByteArena ids;
+    private final ByteArena attributes;
+
+    private int size;
+    private boolean withScores;
+    private boolean withAttribs;
+
+    /**
+     * 下一次 NIO 查询请求的选项，由解码器在读取回复前用于 {@link #begin}
+     */
+    private boolean requestScores;
+    private boolean requestAttribs;
+
+    /**
+     * NIO 传输层使用的解码器，随缓冲区创建一次，避免每次查询创建 lambda。
+     * 每次解码前先清空缓冲区，连接断开重试时不会残留上一次尝试写入的结果
+     */
+    final NioVectorTransport.ReplyDecoder<SearchResultBuffer> nioDecoder = connection -> {
+        begin(requestScores, requestAttribs);
+        return connection.readSearchResult(this);
+    };
+
+    /**
+     * 按默认容量（64个结果，每个标识约32字节）创建缓冲区
+     */
+    public SearchResultBuffer() {
+        this(64, 2048);
+    }
+
+    /**
+     * @param expectedResults 预计的单次结果数量
+     * @param expectedIdBytes 预计的单次元素标识总字节数
+     */
+    public SearchResultBuffer(int expectedResults, int expectedIdBytes) {
+        if (expectedResults <= 0 || expectedIdBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "结果缓冲区容量非法（results=" + expectedResults + ", idBytes=" + expectedIdBytes + "）");
+        }
+        this.scores = new float[expectedResults];
+        this.ids = new ByteArena(expectedResults, expectedIdBytes);
+        this.attributes = new ByteArena(expectedResults, expectedIdBytes);
+    }
+
+    /**
+     * 结果数量
+     *
+     * @return 结果数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 上次查询是否请求了分数
+     *
+     * @return 包含分数返回true
+     */
+    public boolean hasScores() {
+        return withScores;
+    }
+
+    /**
+     * 上次查询是否请求了属性
+     *
+     * @return 包含属性返回true
+     */
+    public boolean hasAttributes() {
+        return withAttribs;
+    }
+
+    /**
+     * 获取相似度分数
+     *
+     * @param index 结果下标
+     * @return 相似度分数
+     */
+    public float getScore(int index) {
+        checkIndex(index);
+        if (!withScores) {
+            throw new IllegalStateException("VSIM 结果未包含分数，请设置 withScores");
+        }
+        return scores[index];
+    }
+
+    /**
+     * 获取分数数组，有效范围为 [0, size())，下次查询时被覆盖，调用方不可修改
+     *
+     * @return 分数数组
+     */
+    public float[] getScores() {
+        return scores;
+    }
+
+    /**
+     * 元素标识符字节长度
+     *
+     * @param index 结果下标
+     * @return 字节长度
+     */
+    public int getIdLength(int index) {
+        checkIndex(index);
+        return ids.length(index);
+    }
+
+    /**
+     * 复制元素标识符字节
+     *
+     * @param index 结果下标
+     * @param dst 目标数组
+     * @param offset 目标起始位置
+     * @return 复制的字节数
+     */
+    public int copyId(int index, byte[] dst, int offset) {
+        checkIndex(index);
+        return ids.copy(index, dst, offset);
+    }
+
+    /**
+     * 比较元素标识符，不产生分配
+     *
+     * @param index 结果下标
+     * @param expected 期望的标识符字节
+     * @return 相同返回true
+     */
+    public boolean idEquals(int index, byte[] expected) {
+        checkIndex(index);
+        return ids.contentEquals(index, expected);
+    }
+
+    /**
+     * 解码元素标识符，每次调用都会创建 String
+     *
+     * @param index 结果下标
+     * @return 元素标识符
+     */
+    public String getId(int index) {
+        checkIndex(index);
+        return ids.decode(index);
+    }
+
+    /**
+     * 解码属性字符串，每次调用都会创建 String
+     *
+     * @param index 结果下标
+     * @return 属性字符串，元素未设置属性时返回null
+     */
+    public String getAttributes(int index) {
+        checkIndex(index);
+        if (!withAttribs) {
+            throw new IllegalStateException("VSIM 结果未包含属性，请设置 withAttribs");
+        }
+        return attributes.decode(index);
+    }
+
+    /**
+     * 依次访问全部结果，标识符和属性以只读视图传入，不产生分配
+     *
+     * @param visitor 结果访问器
+     */
+    public void forEach(SearchResultVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            visitor.visit(i,
+                    ids.view(i),
+                    withScores ? scores[i] : Float.NaN,
+                    withAttribs ? attributes.view(i) : null);
+        }
+    }
+
+    /**
+     * 清空结果，保留已分配的容量
+     */
+    public void clear() {
+        size = 0;
+        ids.clear();
+        attributes.clear();
+    }
+
+    /**
+     * 记录下一次 NIO 查询的请求选项，结果在 {@link #nioDecoder} 读取回复时写入
+     */
+    void expect(boolean withScores, boolean withAttribs) {
+        this.requestScores = withScores;
+        this.requestAttribs = withAttribs;
+    }
+
+    /**
+     * 开始写入一次查询的结果
+     */
+    void begin(boolean withScores, boolean withAttribs) {
+        clear();
+        this.withScores = withScores;
+        this.withAttribs = withAttribs;
+    }
+
+    /**
+     * 追加一个结果并返回其下标，随后通过 {@link #ids()}、{@link #attributes()} 和 {@link #setScore} 填充
+     */
+    int add() {
+        if (size == scores.length) {
+            scores = Arrays.copyOf(scores, size << 1);
+        }
+        return size++;
+    }
+
+    void setScore(int index, float score) {
+        scores[index] = score;
+    }
+
+    ByteArena ids() {
+        return ids;
+    }
+
+    ByteArena attributes() {
+        return attributes;
+    }
+
+    /**
+     * 从交错排列的 VSIM 回复（Jedis 路径）复制结果
+     */
+    void load(List<?> reply, boolean withScores, boolean withAttribs) {
+        begin(withScores, withAttribs);
+        if (reply == null || reply.isEmpty()) {
+            return;
+        }
+        int stride = 1 + (withScores ? 1 : 0) + (withAttribs ? 1 : 0);
+        if (reply.size() % stride != 0) {
+            throw new IllegalStateException("VSIM 回复长度与请求选项不匹配（回复长度=" + reply.size() + "，步长=" + stride + "）");
+        }
+        for (int pos = 0; pos < reply.size();) {
+            int index = add();
+            ids.put(index, (byte[]) reply.get(pos++));
+            if (withScores) {
+                scores[index] = (float) VectorCodec.toDouble(reply.get(pos++));
+            }
+            if (withAttribs) {
+                attributes.put(index, (byte[]) reply.get(pos++));
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("结果下标越界：index=" + index + ", size=" + size);
+        }
+    }
+
+    /**
+     * 堆外字节区，按写入顺序连续存放，每项记录偏移和长度，长度为-1表示空值
+     */
+    static final class ByteArena {
+
+        private ByteBuffer data;
+        private ByteBuffer view;
+        private int[] offsets;
+        private int[] lengths;
+
+        ByteArena(int expectedItems, int expectedBytes) {
+            this.data = ByteBuffer.allocateDirect(expectedBytes);
+            this.view = data.asReadOnlyBuffer();
+            this.offsets = new int[expectedItems];
+            this.lengths = new int[expectedItems];
+        }
+
+        /**
+         * 为第 index 项预留 length 字节，返回写入位置已就绪的堆外缓冲区，调用方随后写入恰好 length 字节
+         */
+        ByteBuffer reserve(int index, int length) {
+            ensureItems(index);
+            if (data.remaining() < length) {
+                int capacity = Math.max(data.capacity() << 1, data.position() + length);
+                ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+                data.flip();
+                grown.put(data);
+                data = grown;
+                view = data.asReadOnlyBuffer();
+            }
+            offsets[index] = data.position();
+            lengths[index] = length;
+            return data;
+        }
+
+        void put(int index, byte[] bytes) {
+            if (bytes == null) {
+                putNull(index);
+            } else {
+                reserve(index, bytes.length).put(bytes);
+            }
+        }
+
+        void putNull(int index) {
+            ensureItems(index);
+            offsets[index] = data.position();
+            lengths[index] = -1;
+        }
+
+        private void ensureItems(int index) {
+            if (index >= offsets.length) {
+                int capacity = Math.max(offsets.length << 1, index + 1);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+        }
+
+        int length(int index) {
+            return lengths[index];
+        }
+
+        int copy(int index, byte[] dst, int offset) {
+            int length = lengths[index];
+            if (length <= 0) {
+                return 0;
+            }
+            data.get(offsets[index], dst, offset, length);
+            return length;
+        }
+
+        boolean contentEquals(int index, byte[] expected) {
+            int length = lengths[index];
+            if (expected == null || length != expected.length) {
+                return expected == null && length < 0;
+            }
+            int offset = offsets[index];
+            for (int i = 0; i < length; i++) {
+                if (data.get(offset + i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String decode(int index) {
+            int length = lengths[index];
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            data.get(offsets[index], bytes, 0, length);
+            return new String(bytes, charset);
+        }
+
+        /**
+         * 第 index 项的只读视图，各项共用同一个视图对象，下次调用前有效
+         */
+        ByteBuffer view(int index) {
+            int length = lengths[index];
+            if (length < 0) {
+                return null;
+            }
+            view.limit(offsets[index] + length).position(offsets[index]);
+            return view;
+        }
+
+        void clear() {
+            data.clear();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * VSIM 结果解码分配基准测试
+ * 进程内的回环服务端对每条命令返回预先编码的 VSIM WITHSCORES 回复，客户端启用 NIO 传输层，
+ * 对比 List&lt;String&gt;、{@link SimilarityResult} 和复用 {@link SearchResultBuffer} 三种接口。
+ * 配合 -prof gc 运行，预热后 reusableBuffer 的 gc.alloc.rate.norm 应接近 0 B/op；无需 Redis
+ *
+ * @author tangzq
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultBufferBenchmark {
+
+    private static final String KEY = "services";
+
+    @Param({ "10", "100" })
+    public int results;
+
+    @Param({ "384" })
+    public int dim;
+
+    private CannedReplyServer server;
+    private RedisVectorClient client;
+    private float[] query;
+    private VSimOptions options;
+    private SearchResultBuffer buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new CannedReplyServer(cannedReply(results));
+        client = RedisVectorClient.builder()
+                .host(InetAddress.getLoopbackAddress().getHostAddress())
+                .port(server.getPort())
+                .database(0)
+                .maxTotal(1)
+                .minIdle(0)
+                .lazy(true)
+                .nioTransport(true)
+                .build();
+
+        Random random = new Random(42);
+        query = new float[dim];
+        for (int i = 0; i < dim; i++) {
+            query[i] = random.nextFloat() * 2 - 1;
+        }
+        options = VSimOptions.create().withScores(true).count(results);
+        buffer = new SearchResultBuffer();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public List<String> stringList() {
+        return client.vSim(KEY, query, options);
+    }
+
+    @Benchmark
+    public SimilarityResult typedResult() {
+        return client.vSimResult(KEY, query, options);
+    }
+
+    @Benchmark
+    public float reusableBuffer() {
+        client.vSim(KEY, query, options, buffer);
+        return buffer.getScore(0);
+    }
+
+    /**
+     * 编码 RESP2 形式的 VSIM WITHSCORES 回复
+     */
+    private static byte[] cannedReply(int results) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeAscii(out, "*" + results * 2 + "\r\n");
+        for (int i = 0; i < results; i++) {
+            String id = "service:" + (100000 + i);
+            String score = String.valueOf(0.9876 - i * 0.0031);
+            writeAscii(out, "$" + id.length() + "\r\n" + id + "\r\n");
+            writeAscii(out, "$" + score.length() + "\r\n" + score + "\r\n");
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 回环服务端：逐条读取 RESP 命令（只解析长度，不保留内容），每条命令写回同一份预编码回复。
+     * 读写均使用预分配的缓冲区，不影响客户端的分配统计
+     */
+    static final class CannedReplyServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final byte[] reply;
+
+        CannedReplyServer(byte[] reply) throws IOException {
+            this.reply = reply;
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptLoop, "canned-reply-acceptor");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    socket.setTcpNoDelay(true);
+                    Thread worker = new Thread(() -> serve(socket), "canned-reply-worker");
+                    worker.setDaemon(true);
+                    worker.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                InputStream in = new BufferedInputStream(s.getInputStream(), 64 * 1024);
+                OutputStream out = s.getOutputStream();
+                while (true) {
+                    if (in.read() != '*') {
+                        return;
+                    }
+                    long args = readLength(in);
+                    for (long i = 0; i < args; i++) {
+                        in.read();
+                        long length = readLength(in);
+                        for (long j = 0; j < length + 2; j++) {
+                            in.read();
+                        }
+                    }
+                    out.write(reply);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // 客户端断开
+            }
+        }
+
+        private static long readLength(InputStream in) throws IOException {
+            long value = 0;
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b < 0) {
+                    throw new IOException("连接已关闭");
+                }
+                value = value * 10 + (b - '0');
+            }
+            in.read();
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * VSIM 搜索结果访问器
+ * 标识符和属性以共用的只读视图传入，仅在本次回调内有效，需要保留时由调用方自行复制
+ *
+ * @author tangzq
+ */
+@FunctionalInterface
+public interface SearchResultVisitor {
+
+    /**
+     * 访问一个结果
+     *
+     * @param index 结果下标（按相似度从高到低）
+     * @param id 元素标识符字节
+     * @param score 相似度分数，未请求分数时为 NaN
+     * @param attributes 属性字节，未请求属性或元素未设置属性时为null
+     */
+    void visit(int index, ByteBuffer id, float score, ByteBuffer attributes);
+}
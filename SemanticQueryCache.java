@@ -0,0 +1,202 @@
+package com.example.demo;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * VSIM 语义查询缓存
+ * 保存最近的查询向量（归一化副本）及其结果，新查询与某个已缓存查询在同一键、同一选项下的余弦相似度不低于阈值时，
+ * 直接返回该查询的结果。适用于文本不同但嵌入几乎相同的查询，如"台风"和"台风预警"。
+ *
+ * <p>条目存放在固定大小的环形数组中，写满后覆盖最早写入的条目，内存上限约为 条目数 × 维度 × 4 字节。
+ * 查找在读锁下线性扫描全部条目，条目数应保持在数百量级，使扫描开销远小于一次网络往返。
+ * 失效方式与 {@link VSimCache} 相同，按 Redis 键的代数判断</p>
+ *
+ * @author tangzq
+ */
+final class SemanticQueryCache implements KeyedResultCache {
+
+    private final Entry[] slots;
+    private final double minSimilarity;
+    private final long ttlNanos;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 下一个写入位置和已占用的条目数，受写锁保护
+     */
+    private int next;
+    private int size;
+
+    private volatile boolean enabled = true;
+
+    SemanticQueryCache(int maxEntries, double minSimilarity, long ttlMillis) {
+        this.slots = new Entry[maxEntries];
+        this.minSimilarity = minSimilarity;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+    }
+
+    /**
+     * 查找与查询向量最相近且达到阈值的缓存结果
+     *
+     * @return 缓存值，未命中、查询向量为零向量或缓存暂停时返回null
+     */
+    Object get(int kind, String key, float[] query, VSimOptions options) {
+        if (!enabled) {
+            return null;
+        }
+        float norm = VectorScorer.norm(query);
+        if (norm == 0) {
+            misses.increment();
+            return null;
+        }
+        AtomicLong current = generations.get(key);
+        long generation = current == null ? -1 : current.get();
+        long now = System.nanoTime();
+
+        Entry best = null;
+        double bestSimilarity = minSimilarity;
+        lock.readLock().lock();
+        try {
+            for (Entry entry : slots) {
+                if (entry == null
+                        || entry.kind != kind
+                        || entry.generation != generation
+                        || entry.unit.length != query.length
+                        || !entry.key.equals(key)
+                        || !entry.options.equals(options)
+                        || (ttlNanos != 0 && now - entry.createdNanos >= ttlNanos)) {
+                    continue;
+                }
+                double similarity = VectorScorer.dot(entry.unit, query) / norm;
+                if (similarity >= bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (best == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return best.value;
+    }
+
+    /**
+     * 读取键的当前代数，须在发送 VSIM 之前调用
+     */
+    long generation(String key) {
+        return generations.computeIfAbsent(key, k -> new AtomicLong()).get();
+    }
+
+    /**
+     * 写入搜索结果，键在搜索期间已失效或查询向量为零向量时丢弃
+     *
+     * @param generation 发送 VSIM 之前读取的代数
+     */
+    void put(int kind, String key, float[] query, VSimOptions options, long generation, Object value) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong current = generations.get(key);
+        if (current == null || current.get() != generation) {
+            return;
+        }
+        float norm = VectorScorer.norm(query);
+        if (norm == 0) {
+            return;
+        }
+        float[] unit = new float[query.length];
+        for (int i = 0; i < query.length; i++) {
+            unit[i] = query[i] / norm;
+        }
+        Entry entry = new Entry(kind, key, options.copy(), unit, value, generation, System.nanoTime());
+
+        lock.writeLock().lock();
+        try {
+            if (slots[next] != null) {
+                evictions.increment();
+            } else {
+                size++;
+            }
+            slots[next] = entry;
+            next = (next + 1) % slots.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        AtomicLong generation = generations.get(key);
+        if (generation != null) {
+            generation.incrementAndGet();
+            invalidations.increment();
+        }
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            this.enabled = false;
+            for (AtomicLong generation : generations.values()) {
+                generation.incrementAndGet();
+            }
+            lock.writeLock().lock();
+            try {
+                Arrays.fill(slots, null);
+                size = 0;
+                next = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            invalidations.increment();
+        } else {
+            this.enabled = true;
+        }
+    }
+
+    CacheMetrics metrics() {
+        int current;
+        lock.readLock().lock();
+        try {
+            current = size;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new CacheMetrics(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), current);
+    }
+
+    private static final class Entry {
+
+        private final int kind;
+        private final String key;
+        private final VSimOptions options;
+        private final float[] unit;
+        private final Object value;
+        private final long generation;
+        private final long createdNanos;
+
+        Entry(int kind, String key, VSimOptions options, float[] unit, Object value, long generation,
+                long createdNanos) {
+            this.kind = kind;
+            this.key = key;
+            this.options = options;
+            this.unit = unit;
+            this.value = value;
+            this.generation = generation;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
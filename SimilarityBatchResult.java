@@ -0,0 +1,295 @@
+package com.example.demo;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 批量 VSIM 搜索结果（列式存储）
+ * 所有查询的结果依次存放在同一组数组中，第 q 个查询的结果位于 [offset(q), offset(q + 1)) 区间，
+ * 元素标识和属性保留原始字节，仅在访问时解码
+ *
+ * @author tangzq
+ */
+public class SimilarityBatchResult {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    private final int queryCount;
+    private final int[] offsets;
+    private final byte[][] ids;
+    private final double[] scores;
+    private final byte[][] attributes;
+    private final String[] errors;
+
+    private SimilarityBatchResult(int queryCount, int[] offsets, byte[][] ids, double[] scores, byte[][] attributes,
+            String[] errors) {
+        this.queryCount = queryCount;
+        this.offsets = offsets;
+        this.ids = ids;
+        this.scores = scores;
+        this.attributes = attributes;
+        this.errors = errors;
+    }
+
+    /**
+     * 查询数量
+     *
+     * @return 查询数量
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * 全部查询的结果总数
+     *
+     * @return 结果总数
+     */
+    public int getTotalCount() {
+        return offsets[queryCount];
+    }
+
+    /**
+     * 第 q 个查询的结果在列式数组中的起始位置
+     *
+     * @param query 查询下标
+     * @return 起始位置
+     */
+    public int offset(int query) {
+        checkQuery(query);
+        return offsets[query];
+    }
+
+    /**
+     * 第 q 个查询的结果数量
+     *
+     * @param query 查询下标
+     * @return 结果数量，查询出错时为0
+     */
+    public int size(int query) {
+        checkQuery(query);
+        return offsets[query + 1] - offsets[query];
+    }
+
+    /**
+     * 第 q 个查询是否出错
+     *
+     * @param query 查询下标
+     * @return 出错返回true
+     */
+    public boolean isError(int query) {
+        checkQuery(query);
+        return errors != null && errors[query] != null;
+    }
+
+    /**
+     * 第 q 个查询的错误信息
+     *
+     * @param query 查询下标
+     * @return 错误信息，未出错时返回null
+     */
+    public String getError(int query) {
+        checkQuery(query);
+        return errors == null ? null : errors[query];
+    }
+
+    /**
+     * 获取第 q 个查询的第 i 个结果的元素标识符
+     *
+     * @param query 查询下标
+     * @param index 结果下标
+     * @return 元素标识符
+     */
+    public String getId(int query, int index) {
+        return new String(ids[position(query, index)], charset);
+    }
+
+    /**
+     * 获取第 q 个查询的第 i 个结果的元素标识符原始字节，调用方不可修改
+     *
+     * @param query 查询下标
+     * @param index 结果下标
+     * @return 元素标识符字节
+     */
+    public byte[] getIdBytes(int query, int index) {
+        return ids[position(query, index)];
+    }
+
+    /**
+     * 获取第 q 个查询的第 i 个结果的相似度分数
+     *
+     * @param query 查询下标
+     * @param index 结果下标
+     * @return 相似度分数
+     */
+    public double getScore(int query, int index) {
+        if (scores == null) {
+            throw new IllegalStateException("VSIM 结果未包含分数，请设置 withScores");
+        }
+        return scores[position(query, index)];
+    }
+
+    /**
+     * 获取第 q 个查询的第 i 个结果的属性字符串
+     *
+     * @param query 查询下标
+     * @param index 结果下标
+     * @return 属性字符串，元素未设置属性时返回null
+     */
+    public String getAttributes(int query, int index) {
+        if (attributes == null) {
+            throw new IllegalStateException("VSIM 结果未包含属性，请设置 withAttribs");
+        }
+        byte[] raw = attributes[position(query, index)];
+        return raw == null ? null : new String(raw, charset);
+    }
+
+    private int position(int query, int index) {
+        checkQuery(query);
+        int position = offsets[query] + index;
+        if (index < 0 || position >= offsets[query + 1]) {
+            throw new IndexOutOfBoundsException("下标越界：query=" + query + ", index=" + index + ", size=" + size(query));
+        }
+        return position;
+    }
+
+    private void checkQuery(int query) {
+        if (query < 0 || query >= queryCount) {
+            throw new IndexOutOfBoundsException("查询下标越界：query=" + query + ", queryCount=" + queryCount);
+        }
+    }
+
+    /**
+     * 按查询顺序追加回复的构建器
+     */
+    static final class Builder {
+
+        /**
+         * 初始结果容量上限，COUNT 较大或查询较多时按实际回复扩容，避免按上限预分配
+         */
+        private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+        /**
+         * 数组长度上限，部分虚拟机保留数组头部的若干字
+         */
+        private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+        private final boolean withScores;
+        private final boolean withAttribs;
+        private final int stride;
+        private int queryCount;
+        private int[] offsets;
+        private byte[][] ids;
+        private double[] scores;
+        private byte[][] attributes;
+        private String[] errors;
+        private int size;
+
+        Builder(int expectedQueries, int expectedPerQuery, boolean withScores, boolean withAttribs) {
+            this.withScores = withScores;
+            this.withAttribs = withAttribs;
+            this.stride = 1 + (withScores ? 1 : 0) + (withAttribs ? 1 : 0);
+            long expected = (long) expectedQueries * expectedPerQuery;
+            int capacity = (int) Math.max(16, Math.min(MAX_INITIAL_CAPACITY, expected));
+            this.offsets = new int[expectedQueries + 1];
+            this.ids = new byte[capacity][];
+            this.scores = withScores ? new double[capacity] : null;
+            this.attributes = withAttribs ? new byte[capacity][] : null;
+        }
+
+        /**
+         * 追加一个查询的回复，RESP3 映射回复先展开为 RESP2 的交错排列
+         */
+        void addReply(Object rawReply) {
+            List<?> reply = VectorCodec.flattenReply(rawReply);
+            int count = reply == null ? 0 : reply.size() / stride;
+            if (reply != null && reply.size() % stride != 0) {
+                throw new IllegalStateException(
+                        "VSIM 回复长度与请求选项不匹配（回复长度=" + reply.size() + "，步长=" + stride + "）");
+            }
+            ensureCapacity(count);
+            int pos = 0;
+            for (int i = 0; i < count; i++) {
+                ids[size] = (byte[]) reply.get(pos++);
+                if (withScores) {
+                    scores[size] = VectorCodec.toDouble(reply.get(pos++));
+                }
+                if (withAttribs) {
+                    attributes[size] = (byte[]) reply.get(pos++);
+                }
+                size++;
+            }
+            endQuery();
+        }
+
+        /**
+         * 追加一个出错的查询
+         */
+        void addError(String error) {
+            if (errors == null) {
+                errors = new String[offsets.length];
+            }
+            errors[queryCount] = error;
+            endQuery();
+        }
+
+        /**
+         * 追加另一个构建器的全部查询（用于合并多连接分段结果）
+         */
+        void addAll(Builder other) {
+            ensureCapacity(other.size);
+            for (int q = 0; q < other.queryCount; q++) {
+                if (other.errors != null && other.errors[q] != null) {
+                    addError(other.errors[q]);
+                    continue;
+                }
+                int from = other.offsets[q];
+                int count = other.offsets[q + 1] - from;
+                System.arraycopy(other.ids, from, ids, size, count);
+                if (withScores) {
+                    System.arraycopy(other.scores, from, scores, size, count);
+                }
+                if (withAttribs) {
+                    System.arraycopy(other.attributes, from, attributes, size, count);
+                }
+                size += count;
+                endQuery();
+            }
+        }
+
+        private void endQuery() {
+            queryCount++;
+            if (queryCount == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length << 1);
+                if (errors != null) {
+                    errors = Arrays.copyOf(errors, offsets.length);
+                }
+            }
+            offsets[queryCount] = size;
+        }
+
+        private void ensureCapacity(int more) {
+            long required = (long) size + more;
+            if (required <= ids.length) {
+                return;
+            }
+            if (required > MAX_CAPACITY) {
+                throw new IllegalStateException("批量搜索结果总数超过数组上限：" + required);
+            }
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(required, (long) ids.length << 1));
+            ids = Arrays.copyOf(ids, capacity);
+            if (withScores) {
+                scores = Arrays.copyOf(scores, capacity);
+            }
+            if (withAttribs) {
+                attributes = Arrays.copyOf(attributes, capacity);
+            }
+        }
+
+        SimilarityBatchResult build() {
+            return new SimilarityBatchResult(queryCount, offsets, ids, scores, attributes, errors);
+        }
+    }
+}
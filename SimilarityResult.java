@@ -0,0 +1,222 @@
+package com.example.demo;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+
+/**
+ * VSIM 相似度搜索结果
+ * 分数以 double 数组保存，元素标识和属性保留原始字节，仅在访问时才解码为字符串或 JSON。
+ * 结果是只读的：启用 VSIM 缓存或语义缓存时，命中缓存的同一个实例会返回给多个调用方，
+ * {@link #getIdBytes} 和 {@link #getAttributesBytes} 返回的数组不可修改
+ *
+ * @author tangzq
+ */
+public class SimilarityResult {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    private final int size;
+    private final byte[][] ids;
+    private final double[] scores;
+    private final byte[][] attributes;
+    private String[] decodedIds;
+
+    SimilarityResult(int size, byte[][] ids, double[] scores, byte[][] attributes) {
+        this.size = size;
+        this.ids = ids;
+        this.scores = scores;
+        this.attributes = attributes;
+    }
+
+    /**
+     * 从 VSIM 回复构建结果，RESP2 回复按 元素[,分数][,属性] 交替排列，RESP3 映射回复先展开为同样的排列
+     *
+     * @param rawReply VSIM 原始回复
+     * @param withScores 请求时是否带 WITHSCORES
+     * @param withAttribs 请求时是否带 WITHATTRIBS
+     * @return 搜索结果
+     */
+    static SimilarityResult fromReply(Object rawReply, boolean withScores, boolean withAttribs) {
+        List<?> reply = VectorCodec.flattenReply(rawReply);
+        if (reply == null || reply.isEmpty()) {
+            return new SimilarityResult(0, new byte[0][], withScores ? new double[0] : null,
+                    withAttribs ? new byte[0][] : null);
+        }
+        int stride = 1 + (withScores ? 1 : 0) + (withAttribs ? 1 : 0);
+        if (reply.size() % stride != 0) {
+            throw new IllegalStateException("VSIM 回复长度与请求选项不匹配（回复长度=" + reply.size() + "，步长=" + stride + "）");
+        }
+
+        int size = reply.size() / stride;
+        byte[][] ids = new byte[size][];
+        double[] scores = withScores ? new double[size] : null;
+        byte[][] attributes = withAttribs ? new byte[size][] : null;
+
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            ids[i] = (byte[]) reply.get(pos++);
+            if (withScores) {
+                scores[i] = VectorCodec.toDouble(reply.get(pos++));
+            }
+            if (withAttribs) {
+                // 未设置属性的元素返回空回复
+                attributes[i] = (byte[]) reply.get(pos++);
+            }
+        }
+        return new SimilarityResult(size, ids, scores, attributes);
+    }
+
+    /**
+     * 深拷贝，写入缓存时使用，调用方此前拿到的实例与缓存互不影响
+     */
+    SimilarityResult copy() {
+        byte[][] idsCopy = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            idsCopy[i] = ids[i].clone();
+        }
+        byte[][] attributesCopy = null;
+        if (attributes != null) {
+            attributesCopy = new byte[size][];
+            for (int i = 0; i < size; i++) {
+                attributesCopy[i] = attributes[i] == null ? null : attributes[i].clone();
+            }
+        }
+        return new SimilarityResult(size, idsCopy, scores == null ? null : Arrays.copyOf(scores, size),
+                attributesCopy);
+    }
+
+    /**
+     * 结果数量
+     *
+     * @return 结果数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 是否包含相似度分数
+     *
+     * @return 请求带 WITHSCORES 时返回true
+     */
+    public boolean hasScores() {
+        return scores != null;
+    }
+
+    /**
+     * 是否包含属性信息
+     *
+     * @return 请求带 WITHATTRIBS 时返回true
+     */
+    public boolean hasAttributes() {
+        return attributes != null;
+    }
+
+    /**
+     * 获取元素标识符，首次访问时解码并缓存
+     *
+     * @param index 结果下标
+     * @return 元素标识符
+     */
+    public String getId(int index) {
+        checkIndex(index);
+        if (decodedIds == null) {
+            decodedIds = new String[size];
+        }
+        String id = decodedIds[index];
+        if (id == null) {
+            id = new String(ids[index], charset);
+            decodedIds[index] = id;
+        }
+        return id;
+    }
+
+    /**
+     * 获取元素标识符原始字节，调用方不可修改
+     *
+     * @param index 结果下标
+     * @return 元素标识符字节
+     */
+    public byte[] getIdBytes(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * 获取相似度分数
+     *
+     * @param index 结果下标
+     * @return 相似度分数
+     */
+    public double getScore(int index) {
+        checkIndex(index);
+        if (scores == null) {
+            throw new IllegalStateException("VSIM 结果未包含分数，请设置 withScores");
+        }
+        return scores[index];
+    }
+
+    /**
+     * 获取属性原始字节，调用方不可修改
+     *
+     * @param index 结果下标
+     * @return 属性字节，元素未设置属性时返回null
+     */
+    public byte[] getAttributesBytes(int index) {
+        checkIndex(index);
+        if (attributes == null) {
+            throw new IllegalStateException("VSIM 结果未包含属性，请设置 withAttribs");
+        }
+        return attributes[index];
+    }
+
+    /**
+     * 获取属性字符串，每次调用都会解码，不做缓存
+     *
+     * @param index 结果下标
+     * @return 属性字符串，元素未设置属性时返回null
+     */
+    public String getAttributes(int index) {
+        byte[] raw = getAttributesBytes(index);
+        return raw == null ? null : new String(raw, charset);
+    }
+
+    /**
+     * 获取属性 JSON 对象
+     *
+     * @param index 结果下标
+     * @return 属性 JSON 对象，元素未设置属性时返回null
+     */
+    public JSONObject getAttributesJson(int index) {
+        String attrs = getAttributes(index);
+        return attrs == null ? null : JSONUtil.parseObj(attrs);
+    }
+
+    /**
+     * 将属性反序列化为指定类型
+     *
+     * @param index 结果下标
+     * @param type 目标类型
+     * @param <T> 目标类型
+     * @return 属性对象，元素未设置属性时返回null
+     */
+    public <T> T getAttributes(int index, Class<T> type) {
+        String attrs = getAttributes(index);
+        return attrs == null ? null : JSONUtil.toBean(attrs, type);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("下标越界：index=" + index + ", size=" + size);
+        }
+    }
+}
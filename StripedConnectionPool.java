@@ -0,0 +1,376 @@
+package com.example.demo;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * 分槽连接池
+ * 每个连接占一个槽，槽状态保存在按缓存行填充的原子数组中，借用和归还各只需一次 CAS/写入，不经过全局锁。
+ * 每个线程记住上次使用的槽并优先借用，槽被占用时顺序探测其他槽（窃取）并把偏好迁移到窃取到的槽；
+ * 全部槽都被占用时才进入加锁等待，归还方仅在存在等待方时加锁唤醒
+ *
+ * <p>连接在槽首次被借用时创建，损坏的连接在归还时销毁、下次借用时重建；后台不做空闲校验，
+ * 借用时校验由 {@link ConnectionHealthStrategy#ON_BORROW} 控制。槽数组按容量上限分配，
+ * 当前可用槽数可在容量内调整，缩容时超出部分的连接被销毁</p>
+ *
+ * @author tangzq
+ */
+final class StripedConnectionPool implements ConnectionProvider {
+
+    private static final int FREE = 0;
+    private static final int BUSY = 1;
+
+    /**
+     * 槽状态间隔 16 个 int（64 字节），避免相邻槽落在同一缓存行
+     */
+    private static final int PAD_SHIFT = 4;
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    /**
+     * 线程偏好的槽号，首次使用时按线程顺序轮转分配
+     */
+    private static final ThreadLocal<int[]> AFFINITY = ThreadLocal
+            .withInitial(() -> new int[] { THREAD_SEQ.getAndIncrement() & Integer.MAX_VALUE });
+
+    private final HostAndPort hostAndPort;
+    private final JedisClientConfig clientConfig;
+    private final int capacity;
+    private volatile int size;
+    private final long maxWaitMillis;
+    private final boolean pingOnBorrow;
+
+    private final AtomicIntegerArray states;
+    private final StripedConnection[] connections;
+
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private final LongAdder borrowed = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    StripedConnectionPool(HostAndPort hostAndPort, JedisClientConfig clientConfig, int size, int capacity,
+            long maxWaitMillis, boolean pingOnBorrow) {
+        this.hostAndPort = hostAndPort;
+        this.clientConfig = clientConfig;
+        this.capacity = capacity;
+        this.size = size;
+        this.maxWaitMillis = maxWaitMillis;
+        this.pingOnBorrow = pingOnBorrow;
+        this.states = new AtomicIntegerArray(capacity << PAD_SHIFT);
+        this.connections = new StripedConnection[capacity];
+    }
+
+    @Override
+    public Jedis getResource() {
+        if (closed) {
+            throw new IllegalStateException("连接池已关闭");
+        }
+        int[] affinity = AFFINITY.get();
+        int slot = tryAcquire(affinity);
+        if (slot < 0) {
+            slot = awaitSlot(affinity);
+        }
+        borrowed.increment();
+        return activate(slot);
+    }
+
+    /**
+     * 从偏好槽开始探测一个空闲槽
+     *
+     * @return 占用的槽号，没有空闲槽时返回-1
+     */
+    private int tryAcquire(int[] affinity) {
+        int size = this.size;
+        int preferred = affinity[0] % size;
+        for (int i = 0; i < size; i++) {
+            int slot = preferred + i;
+            if (slot >= size) {
+                slot -= size;
+            }
+            int index = slot << PAD_SHIFT;
+            if (states.get(index) == FREE && states.compareAndSet(index, FREE, BUSY)) {
+                if (i != 0) {
+                    affinity[0] = slot;
+                }
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int awaitSlot(int[] affinity) {
+        long begin = System.nanoTime();
+        long remaining = maxWaitMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        // 先登记再探测，与归还方“先释放再检查等待方”配对，保证不会错过唤醒
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            while (true) {
+                int slot = tryAcquire(affinity);
+                if (slot >= 0) {
+                    recordWait(System.nanoTime() - begin);
+                    return slot;
+                }
+                if (closed) {
+                    throw new IllegalStateException("连接池已关闭");
+                }
+                if (remaining <= 0) {
+                    throw new RedisVectorOverloadException("等待 Redis 连接超时：maxWait=" + maxWaitMillis + "ms");
+                }
+                remaining = available.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JedisException("等待 Redis 连接被中断", e);
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        long max = maxWaitNanos.get();
+        while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * 为已占用的槽准备可用连接，失败时释放槽
+     */
+    private Jedis activate(int slot) {
+        StripedConnection connection = connections[slot];
+        try {
+            if (connection != null && connection.isBroken()) {
+                destroy(slot);
+                connection = null;
+            }
+            if (connection != null && pingOnBorrow) {
+                try {
+                    connection.ping();
+                } catch (JedisException e) {
+                    destroy(slot);
+                    connection = null;
+                }
+            }
+            if (connection == null) {
+                connection = new StripedConnection(this, slot, hostAndPort, clientConfig);
+                connections[slot] = connection;
+                created.increment();
+            }
+            connection.leased = true;
+            return connection;
+
+        } catch (RuntimeException e) {
+            free(slot);
+            throw e;
+        }
+    }
+
+    /**
+     * 归还连接，损坏的连接或连接池已关闭时直接销毁
+     */
+    void release(StripedConnection connection) {
+        int slot = connection.slot;
+        if (closed || slot >= size || connection.isBroken()) {
+            destroy(slot);
+        }
+        free(slot);
+    }
+
+    private void free(int slot) {
+        states.set(slot << PAD_SHIFT, FREE);
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void destroy(int slot) {
+        StripedConnection connection = connections[slot];
+        connections[slot] = null;
+        if (connection != null) {
+            connection.disconnectQuietly();
+            destroyed.increment();
+        }
+    }
+
+    /**
+     * 销毁全部空闲连接
+     */
+    private void clear() {
+        for (int slot = 0; slot < capacity; slot++) {
+            int index = slot << PAD_SHIFT;
+            if (states.compareAndSet(index, FREE, BUSY)) {
+                destroy(slot);
+                free(slot);
+            }
+        }
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return size;
+    }
+
+    @Override
+    public void setMaxTotal(int maxTotal) {
+        int target = Math.max(1, Math.min(capacity, maxTotal));
+        int previous = size;
+        size = target;
+        if (target < previous) {
+            // 超出新上限的空闲连接立即销毁，借出中的连接在归还时销毁
+            for (int slot = target; slot < previous; slot++) {
+                if (states.compareAndSet(slot << PAD_SHIFT, FREE, BUSY)) {
+                    destroy(slot);
+                    states.set(slot << PAD_SHIFT, FREE);
+                }
+            }
+        } else if (target > previous && waiters.get() > 0) {
+            lock.lock();
+            try {
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 分槽连接池不主动维持空闲连接，始终返回0
+     */
+    @Override
+    public int getMinIdle() {
+        return 0;
+    }
+
+    @Override
+    public void setMinIdle(int minIdle) {
+        // 连接在槽首次借用时创建，不维持最小空闲数
+    }
+
+    @Override
+    public int getNumActive() {
+        int active = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (states.get(slot << PAD_SHIFT) == BUSY) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    @Override
+    public int getNumIdle() {
+        int idle = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (states.get(slot << PAD_SHIFT) == FREE && connections[slot] != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    @Override
+    public int getNumWaiters() {
+        return waiters.get();
+    }
+
+    @Override
+    public Duration getMeanBorrowWaitDuration() {
+        long count = borrowed.sum();
+        return Duration.ofNanos(count == 0 ? 0 : totalWaitNanos.sum() / count);
+    }
+
+    @Override
+    public Duration getMaxBorrowWaitDuration() {
+        return Duration.ofNanos(maxWaitNanos.get());
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    @Override
+    public long getDestroyedCount() {
+        return destroyed.sum();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        clear();
+        lock.lock();
+        try {
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 分槽连接，关闭时归还到所属槽而非断开
+     */
+    static final class StripedConnection extends Jedis {
+
+        private final StripedConnectionPool pool;
+        private final int slot;
+
+        /**
+         * 是否处于借出状态，防止重复关闭把其他线程正在使用的槽释放掉
+         */
+        private boolean leased;
+
+        StripedConnection(StripedConnectionPool pool, int slot, HostAndPort hostAndPort,
+                JedisClientConfig clientConfig) {
+            super(hostAndPort, clientConfig);
+            this.pool = pool;
+            this.slot = slot;
+        }
+
+        @Override
+        public void close() {
+            if (leased) {
+                leased = false;
+                pool.release(this);
+            }
+        }
+
+        void disconnectQuietly() {
+            try {
+                super.close();
+            } catch (RuntimeException e) {
+                // 连接已损坏，忽略断开时的异常
+            }
+        }
+    }
+}
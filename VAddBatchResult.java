@@ -0,0 +1,106 @@
+package com.example.demo;
+
+import java.util.Arrays;
+
+/**
+ * 批量写入结果
+ * 按输入顺序记录每个元素的 VADD 返回值或错误信息
+ *
+ * @author tangzq
+ */
+public class VAddBatchResult {
+
+    private long[] results = new long[64];
+    private String[] errors;
+    private int size;
+    private int errorCount;
+
+    void addResult(long result) {
+        ensureCapacity();
+        results[size++] = result;
+    }
+
+    void addError(String error) {
+        ensureCapacity();
+        if (errors == null) {
+            errors = new String[results.length];
+        }
+        errors[size++] = error;
+        errorCount++;
+    }
+
+    private void ensureCapacity() {
+        if (size == results.length) {
+            results = Arrays.copyOf(results, size << 1);
+            if (errors != null) {
+                errors = Arrays.copyOf(errors, size << 1);
+            }
+        }
+    }
+
+    /**
+     * 元素数量
+     *
+     * @return 已提交的元素数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取元素的 VADD 返回值
+     *
+     * @param index 元素下标（输入顺序）
+     * @return 新增返回1，已存在并更新返回0，出错返回-1
+     */
+    public long getResult(int index) {
+        checkIndex(index);
+        return isError(index) ? -1L : results[index];
+    }
+
+    /**
+     * 元素是否写入失败
+     *
+     * @param index 元素下标（输入顺序）
+     * @return 写入失败返回true
+     */
+    public boolean isError(int index) {
+        checkIndex(index);
+        return errors != null && errors[index] != null;
+    }
+
+    /**
+     * 获取元素的错误信息
+     *
+     * @param index 元素下标（输入顺序）
+     * @return 错误信息，写入成功时返回null
+     */
+    public String getError(int index) {
+        checkIndex(index);
+        return errors == null ? null : errors[index];
+    }
+
+    /**
+     * 写入成功的元素数量（包含更新已有元素）
+     *
+     * @return 成功数量
+     */
+    public int getSuccessCount() {
+        return size - errorCount;
+    }
+
+    /**
+     * 写入失败的元素数量
+     *
+     * @return 失败数量
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("下标越界：index=" + index + ", size=" + size);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.demo;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * VSIM 结果缓存
+ * 按 Redis 键、查询向量和搜索选项缓存搜索结果，容量满时淘汰最久未访问的条目（LRU）。
+ *
+ * <p>失效通过每个 Redis 键的代数实现：写入（本地或键空间通知）只把该键的代数加一，条目记录写入时的代数，
+ * 代数不一致的条目在下次访问时视为未命中并移除，无需遍历。调用方在发送 VSIM 前读取代数、收到结果后按该代数写入，
+ * 搜索期间发生的写入会使这次结果直接作废，不会把旧结果缓存下来</p>
+ *
+ * @author tangzq
+ */
+final class VSimCache implements KeyedResultCache {
+
+    /**
+     * 缓存值类型：字符串列表
+     */
+    static final int STRINGS = 0;
+
+    /**
+     * 缓存值类型：{@link SimilarityResult}
+     */
+    static final int RESULT = 1;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /**
+     * 访问顺序的 LinkedHashMap，读写都会调整顺序，统一在自身上加锁
+     */
+    private final LinkedHashMap<CacheKey, CacheEntry> entries;
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 依赖键空间通知时，订阅断开期间无法感知其他客户端的写入，缓存暂停使用
+     */
+    private volatile boolean enabled = true;
+
+    VSimCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                if (size() > VSimCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 查找缓存结果
+     *
+     * @return 缓存值，未命中或缓存暂停时返回null
+     */
+    Object get(int kind, String key, float[] query, VSimOptions options) {
+        if (!enabled) {
+            return null;
+        }
+        CacheKey lookup = new CacheKey(kind, key, query, options);
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(lookup);
+            if (entry != null && !isValid(key, entry)) {
+                entries.remove(lookup);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    private boolean isValid(String key, CacheEntry entry) {
+        AtomicLong generation = generations.get(key);
+        if (generation == null || generation.get() != entry.generation) {
+            return false;
+        }
+        return ttlNanos == 0 || System.nanoTime() - entry.createdNanos < ttlNanos;
+    }
+
+    /**
+     * 读取键的当前代数，须在发送 VSIM 之前调用
+     */
+    long generation(String key) {
+        return generations.computeIfAbsent(key, k -> new AtomicLong()).get();
+    }
+
+    /**
+     * 写入搜索结果，键在搜索期间已失效时丢弃
+     *
+     * @param generation 发送 VSIM 之前读取的代数
+     */
+    void put(int kind, String key, float[] query, VSimOptions options, long generation, Object value) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong current = generations.get(key);
+        if (current == null || current.get() != generation) {
+            return;
+        }
+        CacheKey owned = new CacheKey(kind, key, query.clone(), options.copy());
+        synchronized (entries) {
+            entries.put(owned, new CacheEntry(value, generation, System.nanoTime()));
+        }
+    }
+
+    /**
+     * 使键的全部缓存结果失效，从未缓存过的键直接忽略
+     */
+    @Override
+    public void invalidate(String key) {
+        AtomicLong generation = generations.get(key);
+        if (generation != null) {
+            generation.incrementAndGet();
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * 使全部缓存结果失效
+     */
+    void invalidateAll() {
+        for (AtomicLong generation : generations.values()) {
+            generation.incrementAndGet();
+        }
+        synchronized (entries) {
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * 暂停或恢复缓存，暂停时清空已有条目
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        if (!enabled) {
+            this.enabled = false;
+            invalidateAll();
+        } else {
+            this.enabled = true;
+        }
+    }
+
+    CacheMetrics metrics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheMetrics(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size);
+    }
+
+    /**
+     * 缓存键，查找时直接引用调用方的向量和选项，写入时使用副本
+     */
+    private static final class CacheKey {
+
+        private final int kind;
+        private final String key;
+        private final float[] query;
+        private final VSimOptions options;
+        private final int hash;
+
+        CacheKey(int kind, String key, float[] query, VSimOptions options) {
+            this.kind = kind;
+            this.key = key;
+            this.query = query;
+            this.options = options;
+            this.hash = 31 * (31 * (31 * kind + key.hashCode()) + Arrays.hashCode(query)) + options.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return hash == that.hash
+                    && kind == that.kind
+                    && key.equals(that.key)
+                    && Arrays.equals(query, that.query)
+                    && options.equals(that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CacheEntry {
+
+        private final Object value;
+        private final long generation;
+        private final long createdNanos;
+
+        CacheEntry(Object value, long generation, long createdNanos) {
+            this.value = value;
+            this.generation = generation;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
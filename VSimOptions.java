@@ -0,0 +1,208 @@
+package com.example.demo;
+
+import java.util.Objects;
+
+/**
+ * VSIM 搜索选项
+ * 未设置的选项不会写入命令，由 Redis 使用默认值
+ *
+ * @author tangzq
+ */
+public class VSimOptions {
+
+    private boolean fp32 = true;
+    private String filter;
+    private boolean withScores;
+    private boolean withAttribs;
+    private Integer count;
+    private Float epsilon;
+    private Integer ef;
+    private Integer filterEf;
+    private Boolean truth;
+
+    /**
+     * 创建默认搜索选项
+     *
+     * @return 搜索选项
+     */
+    public static VSimOptions create() {
+        return new VSimOptions();
+    }
+
+    /**
+     * 设置查询向量的编码方式
+     *
+     * @param fp32 true 使用 FP32 二进制流（默认），false 使用 VALUES 逐分量文本
+     * @return 当前选项
+     */
+    public VSimOptions fp32(boolean fp32) {
+        this.fp32 = fp32;
+        return this;
+    }
+
+    /**
+     * 设置过滤条件
+     *
+     * @param filter 过滤表达式
+     * @return 当前选项
+     */
+    public VSimOptions filter(String filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * 设置是否返回相似度分数
+     *
+     * @param withScores 是否返回相似度分数
+     * @return 当前选项
+     */
+    public VSimOptions withScores(boolean withScores) {
+        this.withScores = withScores;
+        return this;
+    }
+
+    /**
+     * 设置是否返回属性信息
+     *
+     * @param withAttribs 是否返回属性信息
+     * @return 当前选项
+     */
+    public VSimOptions withAttribs(boolean withAttribs) {
+        this.withAttribs = withAttribs;
+        return this;
+    }
+
+    /**
+     * 设置返回结果数量
+     *
+     * @param count 返回结果数量
+     * @return 当前选项
+     */
+    public VSimOptions count(Integer count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * 设置搜索精度参数
+     *
+     * @param epsilon 搜索精度参数，取值范围 [0, 1]
+     * @return 当前选项
+     */
+    public VSimOptions epsilon(Float epsilon) {
+        this.epsilon = epsilon;
+        return this;
+    }
+
+    /**
+     * 设置搜索时的ef参数
+     *
+     * @param ef 搜索时的ef参数
+     * @return 当前选项
+     */
+    public VSimOptions ef(Integer ef) {
+        this.ef = ef;
+        return this;
+    }
+
+    /**
+     * 设置过滤时的ef参数
+     *
+     * @param filterEf 过滤时的ef参数
+     * @return 当前选项
+     */
+    public VSimOptions filterEf(Integer filterEf) {
+        this.filterEf = filterEf;
+        return this;
+    }
+
+    /**
+     * 设置是否进行精确（暴力）搜索
+     *
+     * @param truth 是否返回真实距离
+     * @return 当前选项
+     */
+    public VSimOptions truth(Boolean truth) {
+        this.truth = truth;
+        return this;
+    }
+
+    public boolean isFp32() {
+        return fp32;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public boolean isWithScores() {
+        return withScores;
+    }
+
+    public boolean isWithAttribs() {
+        return withAttribs;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public Float getEpsilon() {
+        return epsilon;
+    }
+
+    public Integer getEf() {
+        return ef;
+    }
+
+    public Integer getFilterEf() {
+        return filterEf;
+    }
+
+    public Boolean getTruth() {
+        return truth;
+    }
+
+    /**
+     * 复制当前选项，用作缓存键时避免调用方后续修改影响已缓存的条目
+     */
+    VSimOptions copy() {
+        VSimOptions copy = new VSimOptions();
+        copy.fp32 = fp32;
+        copy.filter = filter;
+        copy.withScores = withScores;
+        copy.withAttribs = withAttribs;
+        copy.count = count;
+        copy.epsilon = epsilon;
+        copy.ef = ef;
+        copy.filterEf = filterEf;
+        copy.truth = truth;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VSimOptions)) {
+            return false;
+        }
+        VSimOptions that = (VSimOptions) o;
+        return fp32 == that.fp32
+                && withScores == that.withScores
+                && withAttribs == that.withAttribs
+                && Objects.equals(filter, that.filter)
+                && Objects.equals(count, that.count)
+                && Objects.equals(epsilon, that.epsilon)
+                && Objects.equals(ef, that.ef)
+                && Objects.equals(filterEf, that.filterEf)
+                && Objects.equals(truth, that.truth);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fp32, filter, withScores, withAttribs, count, epsilon, ef, filterEf, truth);
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.demo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+
+/**
+ * 多连接并行批量导入器
+ * 生产者通过 {@link #submit(VectorRecord)} 写入有界队列，队列满时阻塞形成背压；
+ * K 个工作线程各自占用一个连接池连接，以管道方式批量写出 VADD 并统计每批往返延迟
+ *
+ * <pre>
+ * try (VectorBulkLoader loader = new VectorBulkLoader("services", 16)) {
+ *     for (VectorRecord record : records) {
+ *         loader.submit(record);
+ *     }
+ *     System.out.println(loader.finish());
+ * }
+ * </pre>
+ *
+ * @author tangzq
+ */
+public class VectorBulkLoader implements AutoCloseable {
+
+    private static final int DEFAULT_FLUSH_COMMANDS = 500;
+    private static final int MAX_SAMPLE_ERRORS = 20;
+
+    /**
+     * 队列结束标记，每个工作线程消费一个
+     */
+    private static final VectorRecord END = new VectorRecord(null, null);
+
+    private static final AtomicInteger LOADER_SEQ = new AtomicInteger();
+
+    private final RedisVectorClient client;
+    private final String key;
+    private final String quantType;
+    private final int flushCommands;
+    private final BlockingQueue<VectorRecord> queue;
+    private final Worker[] workers;
+    private final long startNanos;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder added = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final List<String> sampleErrors = new ArrayList<>();
+
+    private volatile boolean finished;
+
+    /**
+     * 使用默认参数创建导入器：每批500条，队列容量为 连接数 * 每批条数 * 2
+     *
+     * @param key 向量索引的键名
+     * @param connections 并行连接数，不应超过连接池 maxTotal
+     */
+    public VectorBulkLoader(String key, int connections) {
+        this(RedisVectorUtil.defaultClient(), key, connections);
+    }
+
+    /**
+     * 使用指定客户端和默认参数创建导入器
+     *
+     * @param client 向量客户端
+     * @param key 向量索引的键名
+     * @param connections 并行连接数，不应超过客户端连接池 maxTotal
+     */
+    public VectorBulkLoader(RedisVectorClient client, String key, int connections) {
+        this(client, key, connections, connections * DEFAULT_FLUSH_COMMANDS * 2, DEFAULT_FLUSH_COMMANDS, null);
+    }
+
+    /**
+     * 创建导入器并启动工作线程
+     *
+     * @param key 向量索引的键名
+     * @param connections 并行连接数，不应超过连接池 maxTotal
+     * @param queueCapacity 待写入队列容量，决定在途元素上限
+     * @param flushCommands 每个管道批次的最大命令数
+     * @param quantType 量化类型：NOQUANT/Q8/BIN，为null时使用服务端默认值
+     */
+    public VectorBulkLoader(String key, int connections, int queueCapacity, int flushCommands, String quantType) {
+        this(RedisVectorUtil.defaultClient(), key, connections, queueCapacity, flushCommands, quantType);
+    }
+
+    /**
+     * 使用指定客户端创建导入器并启动工作线程
+     *
+     * @param client 向量客户端
+     * @param key 向量索引的键名
+     * @param connections 并行连接数，不应超过客户端连接池 maxTotal
+     * @param queueCapacity 待写入队列容量，决定在途元素上限
+     * @param flushCommands 每个管道批次的最大命令数
+     * @param quantType 量化类型：NOQUANT/Q8/BIN，为null时使用服务端默认值
+     */
+    public VectorBulkLoader(RedisVectorClient client, String key, int connections, int queueCapacity,
+            int flushCommands, String quantType) {
+        if (client == null) {
+            throw new IllegalArgumentException("向量客户端不可为空");
+        }
+        if (key == null || key.isEmpty() || connections <= 0 || queueCapacity <= 0 || flushCommands <= 0) {
+            throw new IllegalArgumentException(
+                    "批量导入参数非法（key=" + key + ", connections=" + connections + ", queueCapacity=" + queueCapacity
+                            + ", flushCommands=" + flushCommands + "）");
+        }
+        this.client = client;
+        this.key = key;
+        this.quantType = quantType;
+        this.flushCommands = flushCommands;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = new Worker[connections];
+        this.startNanos = System.nanoTime();
+
+        int loaderId = LOADER_SEQ.incrementAndGet();
+        for (int i = 0; i < connections; i++) {
+            workers[i] = new Worker();
+            workers[i].setName("vector-bulk-loader-" + loaderId + "-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * 使用指定连接数导入全部元素并等待完成
+     *
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @param connections 并行连接数
+     * @return 导入报告
+     */
+    public static BulkLoadReport load(String key, Iterable<VectorRecord> records, int connections) {
+        return load(RedisVectorUtil.defaultClient(), key, records, connections);
+    }
+
+    /**
+     * 使用指定客户端和连接数导入全部元素并等待完成
+     *
+     * @param client 向量客户端
+     * @param key 向量索引的键名
+     * @param records 向量元素
+     * @param connections 并行连接数
+     * @return 导入报告
+     */
+    public static BulkLoadReport load(RedisVectorClient client, String key, Iterable<VectorRecord> records,
+            int connections) {
+        try (VectorBulkLoader loader = new VectorBulkLoader(client, key, connections)) {
+            for (VectorRecord record : records) {
+                loader.submit(record);
+            }
+            return loader.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("批量导入被中断：key=" + key, e);
+        }
+    }
+
+    /**
+     * 提交一个元素，队列已满时阻塞直到工作线程腾出空间
+     *
+     * @param record 向量元素
+     * @throws InterruptedException 等待期间被中断
+     */
+    public void submit(VectorRecord record) throws InterruptedException {
+        if (finished) {
+            throw new IllegalStateException("批量导入已结束，不可继续提交");
+        }
+        if (record == null || record.getElement() == null || record.getVector() == null
+                || record.getVector().length == 0) {
+            throw new IllegalArgumentException("VADD 批量写入元素非法：element/vector 不可为空");
+        }
+        queue.put(record);
+        submitted.increment();
+    }
+
+    /**
+     * 结束提交，等待全部在途元素写出后返回报告
+     *
+     * @return 导入报告
+     * @throws InterruptedException 等待期间被中断
+     */
+    public BulkLoadReport finish() throws InterruptedException {
+        if (!finished) {
+            finished = true;
+            for (int i = 0; i < workers.length; i++) {
+                queue.put(END);
+            }
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+
+        long elapsed = System.nanoTime() - startNanos;
+        int batches = 0;
+        for (Worker worker : workers) {
+            batches += worker.batchCount;
+        }
+        long[] latencies = new long[batches];
+        int pos = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.batchLatencyNanos, 0, latencies, pos, worker.batchCount);
+            pos += worker.batchCount;
+        }
+
+        List<String> errors;
+        synchronized (sampleErrors) {
+            errors = new ArrayList<>(sampleErrors);
+        }
+        return new BulkLoadReport(submitted.sum(), added.sum(), updated.sum(), failed.sum(), elapsed, latencies,
+                errors);
+    }
+
+    /**
+     * 中止导入，未写出的元素被丢弃
+     */
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            queue.clear();
+            for (Worker worker : workers) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private void recordError(String error) {
+        synchronized (sampleErrors) {
+            if (sampleErrors.size() < MAX_SAMPLE_ERRORS) {
+                sampleErrors.add(error);
+            }
+        }
+    }
+
+    /**
+     * 工作线程：持有一个连接，按批次从队列取出元素并管道写出
+     */
+    private final class Worker extends Thread {
+
+        private long[] batchLatencyNanos = new long[256];
+        private int batchCount;
+
+        @Override
+        public void run() {
+            List<VectorRecord> batch = new ArrayList<>(flushCommands);
+            List<Response<Object>> window = new ArrayList<>(flushCommands);
+            Jedis jedis = null;
+            try {
+                while (true) {
+                    VectorRecord first = queue.take();
+                    batch.add(first);
+                    queue.drainTo(batch, flushCommands - 1);
+                    int ends = removeEndMarkers(batch);
+
+                    if (!batch.isEmpty()) {
+                        jedis = writeBatch(jedis, batch, window);
+                        batch.clear();
+                    }
+                    if (ends > 0) {
+                        // 多取到的结束标记归还给其他工作线程
+                        for (int i = 1; i < ends; i++) {
+                            queue.put(END);
+                        }
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (jedis != null) {
+                    jedis.close();
+                }
+            }
+        }
+
+        private Jedis writeBatch(Jedis jedis, List<VectorRecord> batch, List<Response<Object>> window) {
+            long begin = System.nanoTime();
+            try {
+                if (jedis == null) {
+                    jedis = client.getResource();
+                }
+                VAddBatchResult result = new VAddBatchResult();
+                try (Pipeline pipeline = jedis.pipelined()) {
+                    for (VectorRecord record : batch) {
+                        RedisVectorClient.pipelineVAdd(pipeline, key, record, quantType, window);
+                    }
+                    pipeline.sync();
+                }
+                RedisVectorClient.collectBatchResponses(window, result);
+                recordBatch(result);
+                return jedis;
+
+            } catch (RuntimeException e) {
+                // 连接异常时整批计为失败，归还（销毁）损坏的连接，下一批重新借用
+                window.clear();
+                failed.add(batch.size());
+                recordError("批次写入失败（" + batch.size() + " 条）：" + e.getMessage());
+                if (jedis != null) {
+                    jedis.close();
+                }
+                return null;
+            } finally {
+                client.invalidateVSimCache(key);
+                recordLatency(System.nanoTime() - begin);
+            }
+        }
+
+        private void recordBatch(VAddBatchResult result) {
+            for (int i = 0; i < result.size(); i++) {
+                if (result.isError(i)) {
+                    failed.increment();
+                    recordError(result.getError(i));
+                } else if (result.getResult(i) == 1L) {
+                    added.increment();
+                } else {
+                    updated.increment();
+                }
+            }
+        }
+
+        private void recordLatency(long nanos) {
+            if (batchCount == batchLatencyNanos.length) {
+                batchLatencyNanos = Arrays.copyOf(batchLatencyNanos, batchCount << 1);
+            }
+            batchLatencyNanos[batchCount++] = nanos;
+        }
+
+        private int removeEndMarkers(List<VectorRecord> batch) {
+            int ends = 0;
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (batch.get(i) == END) {
+                    batch.remove(i);
+                    ends++;
+                }
+            }
+            return ends;
+        }
+    }
+}
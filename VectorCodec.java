@@ -0,0 +1,299 @@
+package com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 向量编解码工具类
+ * 负责 float[] 与 Redis 向量集合 FP32 二进制格式（小端序 IEEE 754 单精度）之间的转换，
+ * 以及 VEMB RAW 回复的反量化
+ *
+ * @author tangzq
+ */
+public final class VectorCodec {
+
+    /**
+     * 每个 FP32 分量占用的字节数
+     */
+    public static final int FP32_BYTES = Float.BYTES;
+
+    /**
+     * 可精确表示的10的幂，用于定点小数快速解析
+     */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private VectorCodec() {
+    }
+
+    /**
+     * 将向量编码为 FP32 二进制流（新分配数组，可由调用方长期持有）
+     *
+     * @param vector 向量数据数组
+     * @return 小端序 FP32 二进制流，长度为 vector.length * 4
+     */
+    public static byte[] toFp32Blob(float[] vector) {
+        if (vector == null) {
+            throw new IllegalArgumentException("FP32 编码向量不可为空");
+        }
+        byte[] blob = new byte[vector.length * FP32_BYTES];
+        ByteBuffer.wrap(blob).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(vector);
+        return blob;
+    }
+
+    /**
+     * 将 FP32 二进制流解码为向量
+     *
+     * @param blob 小端序 FP32 二进制流
+     * @return 向量数据数组
+     */
+    public static float[] fromFp32Blob(byte[] blob) {
+        if (blob == null || blob.length % FP32_BYTES != 0) {
+            throw new IllegalArgumentException(
+                    "FP32 二进制流长度非法：必须为4的整数倍（当前长度=" + (blob == null ? 0 : blob.length) + "）");
+        }
+        float[] vector = new float[blob.length / FP32_BYTES];
+        ByteBuffer.wrap(blob).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * 将 VEMB RAW 回复解码到调用方提供的缓冲区
+     * 回复依次为：量化类型（f32/int8/bin）、量化后的归一化向量、归一化前的L2范数、Q8量化范围（仅Q8）。
+     * Q8 分量按 q * range / 127 还原，BIN 分量按位还原为 +1/-1（低位在前），
+     * 非归一化输出时再乘以L2范数，与 VEMB 文本模式的返回值一致
+     *
+     * @param reply VEMB RAW 原始回复
+     * @param dim 向量维度，BIN 量化时必须提供（blob 按64位字对齐），其他量化类型传0即可
+     * @param dst 目标缓冲区，长度不小于向量维度
+     * @param normalized true 返回归一化向量，false 返回乘以L2范数后的原始尺度向量
+     * @return 向量维度
+     */
+    static int decodeRawEmbedding(List<?> reply, int dim, float[] dst, boolean normalized) {
+        if (reply == null || reply.size() < 3 || !(reply.get(0) instanceof byte[]) || !(reply.get(1) instanceof byte[])) {
+            throw new IllegalStateException("VEMB RAW 回复格式非法：" + reply);
+        }
+        String quantType = quantType(reply);
+        byte[] blob = (byte[]) reply.get(1);
+        float scale = normalized ? 1f : (float) toDouble(reply.get(2));
+
+        switch (quantType) {
+        case "f32":
+        case "fp32":
+        case "noquant": {
+            int length = blob.length / FP32_BYTES;
+            checkCapacity(dst, length);
+            FloatBuffer view = ByteBuffer.wrap(blob).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            view.get(dst, 0, length);
+            if (scale != 1f) {
+                for (int i = 0; i < length; i++) {
+                    dst[i] *= scale;
+                }
+            }
+            return length;
+        }
+        case "int8":
+        case "q8": {
+            if (reply.size() < 4) {
+                throw new IllegalStateException("VEMB RAW Q8 回复缺少量化范围");
+            }
+            int length = blob.length;
+            checkCapacity(dst, length);
+            float factor = (float) toDouble(reply.get(3)) / 127f * scale;
+            for (int i = 0; i < length; i++) {
+                dst[i] = blob[i] * factor;
+            }
+            return length;
+        }
+        case "bin": {
+            if (dim <= 0 || dim > blob.length * 8) {
+                throw new IllegalArgumentException(
+                        "VEMB RAW BIN 解码需要有效维度（当前dim=" + dim + ", 位数=" + blob.length * 8 + "）");
+            }
+            checkCapacity(dst, dim);
+            for (int i = 0; i < dim; i++) {
+                dst[i] = (blob[i >>> 3] & (1 << (i & 7))) != 0 ? scale : -scale;
+            }
+            return dim;
+        }
+        default:
+            throw new IllegalStateException("VEMB RAW 量化类型未知：" + quantType);
+        }
+    }
+
+    /**
+     * 判断 VEMB RAW 回复是否为 BIN 量化（解码时需要额外提供维度）
+     */
+    static boolean isBinaryEmbedding(List<?> reply) {
+        return reply != null && !reply.isEmpty() && reply.get(0) instanceof byte[]
+                && "bin".equals(quantType(reply));
+    }
+
+    /**
+     * 计算 VEMB RAW 回复解码后的向量长度
+     *
+     * @param reply VEMB RAW 原始回复
+     * @param dim 向量维度，BIN 量化时使用
+     * @return 向量长度
+     */
+    static int rawEmbeddingLength(List<?> reply, int dim) {
+        String quantType = quantType(reply);
+        byte[] blob = (byte[]) reply.get(1);
+        if ("bin".equals(quantType)) {
+            return dim;
+        }
+        return "int8".equals(quantType) || "q8".equals(quantType) ? blob.length : blob.length / FP32_BYTES;
+    }
+
+    private static String quantType(List<?> reply) {
+        return new String((byte[]) reply.get(0), StandardCharsets.US_ASCII);
+    }
+
+    private static void checkCapacity(float[] dst, int length) {
+        if (dst == null || dst.length < length) {
+            throw new IllegalArgumentException(
+                    "目标缓冲区长度不足（需要=" + length + ", 实际=" + (dst == null ? 0 : dst.length) + "）");
+        }
+    }
+
+    /**
+     * 将回复中的整数转换为 long，兼容 RESP3 下 VADD、VREM、VISMEMBER 等命令返回的布尔值
+     */
+    static long toLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1L : 0L;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof byte[]) {
+            return Long.parseLong(new String((byte[]) value, StandardCharsets.US_ASCII));
+        }
+        return Long.parseLong(value.toString());
+    }
+
+    /**
+     * 将 RESP3 映射回复展开为 RESP2 的交错数组：键后紧跟值，值为数组时（如 VSIM 的 [分数, 属性]）逐项展开。
+     * 映射可能是 {@link Map}，也可能是 Jedis 和 NIO 传输层使用的 {@link Map.Entry} 列表；其他回复原样返回
+     *
+     * @param reply 原始回复
+     * @return 交错数组
+     */
+    static List<?> flattenReply(Object reply) {
+        if (reply instanceof Map) {
+            return flattenEntries(((Map<?, ?>) reply).entrySet());
+        }
+        if (!(reply instanceof List)) {
+            return reply == null ? null : List.of(reply);
+        }
+        List<?> list = (List<?>) reply;
+        if (list.isEmpty() || !(list.get(0) instanceof Map.Entry)) {
+            return list;
+        }
+        return flattenEntries(list);
+    }
+
+    private static List<Object> flattenEntries(Iterable<?> entries) {
+        List<Object> flat = new ArrayList<>();
+        for (Object item : entries) {
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) item;
+            flat.add(entry.getKey());
+            if (entry.getValue() instanceof List) {
+                flat.addAll((List<?>) entry.getValue());
+            } else {
+                flat.add(entry.getValue());
+            }
+        }
+        return flat;
+    }
+
+    /**
+     * 将回复中的浮点数（RESP2 批量字符串或 RESP3 双精度浮点）转换为 double
+     */
+    static double toDouble(Object value) {
+        if (value instanceof byte[]) {
+            return parseDouble((byte[]) value);
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new IllegalStateException("浮点数回复类型非法：" + (value == null ? "null" : value.getClass().getName()));
+    }
+
+    /**
+     * 直接从 ASCII 字节解析浮点数，避免为每个分数创建 String
+     * 常见的定点小数走快速路径，超过15位有效数字时可能带来约1ulp的舍入误差，
+     * 含指数、inf、nan 等其他格式回退到 {@link Double#parseDouble(String)}
+     *
+     * @param bytes 字节数组
+     * @param offset 起始位置
+     * @param length 字节长度
+     * @return 解析结果
+     */
+    static double parseDouble(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        boolean anyDigit = false;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                if (digits == 18) {
+                    return slowParseDouble(bytes, offset, length);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                anyDigit = true;
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (dot) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                return slowParseDouble(bytes, offset, length);
+            }
+        }
+        if (!anyDigit || fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParseDouble(bytes, offset, length);
+        }
+        double value = (double) mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    static double parseDouble(byte[] bytes) {
+        return parseDouble(bytes, 0, bytes.length);
+    }
+
+    private static double slowParseDouble(byte[] bytes, int offset, int length) {
+        String text = new String(bytes, offset, length, StandardCharsets.US_ASCII);
+        // RESP3 双精度浮点的无穷和非数写作 inf、-inf、nan
+        switch (text) {
+        case "inf":
+            return Double.POSITIVE_INFINITY;
+        case "-inf":
+            return Double.NEGATIVE_INFINITY;
+        case "nan":
+            return Double.NaN;
+        default:
+            return Double.parseDouble(text);
+        }
+    }
+}
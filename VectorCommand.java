@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import java.nio.charset.StandardCharsets;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+
+/**
+ * Redis向量集合命令
+ * 命令名在类加载时预先编码，发送命令时不再重复创建 ProtocolCommand 与字节数组
+ *
+ * @author tangzq
+ */
+public enum VectorCommand implements ProtocolCommand {
+
+    VADD(false),
+    VSIM(true),
+    VEMB(true),
+    VDIM(true),
+    VCARD(true),
+    VREM(false),
+    VISMEMBER(true),
+    VSETATTR(false),
+    VGETATTR(true),
+    VRANGE(true),
+    VRANDMEMBER(true),
+    VINFO(true);
+
+    private final byte[] raw;
+    private final boolean readOnly;
+
+    VectorCommand(boolean readOnly) {
+        this.raw = name().getBytes(StandardCharsets.US_ASCII);
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * 是否为只读命令，只读命令在连接异常后可安全重试
+     *
+     * @return 只读返回true
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public byte[] getRaw() {
+        return raw;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * VADD 向量编码基准测试
+ * 对比 VALUES 逐分量文本编码、FP32 二进制编码以及复用参数缓冲区的 FP32 编码在不同维度下的耗时，
+ * 配合 -prof gc 可观察每次编码的内存分配量，网络字节数在初始化时输出
+ *
+ * @author tangzq
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorEncodingBenchmark {
+
+    private static final Charset charset = StandardCharsets.UTF_8;
+
+    @Param({ "128", "384", "768", "1536", "3072" })
+    public int dim;
+
+    private float[] vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vector = new float[dim];
+        for (int i = 0; i < dim; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+
+        System.out.println("dim=" + dim + " VALUES 网络字节数=" + respSize(valuesArgs()) + "，FP32 网络字节数="
+                + respSize(fp32Args(VectorCodec.toFp32Blob(vector))));
+    }
+
+    @Benchmark
+    public byte[][] values() {
+        return valuesArgs();
+    }
+
+    @Benchmark
+    public byte[][] fp32() {
+        return fp32Args(VectorCodec.toFp32Blob(vector));
+    }
+
+    @Benchmark
+    public int fp32Encoder() {
+        CommandArgs args = CommandArgs.begin();
+        args.addKey("services").add(VectorKeyword.FP32).addFp32(vector).add("element");
+        int length = args.toArray().length;
+        args.release();
+        return length;
+    }
+
+    private byte[][] valuesArgs() {
+        List<byte[]> argsList = new ArrayList<>();
+        argsList.add("services".getBytes(charset));
+        argsList.add("VALUES".getBytes(charset));
+        argsList.add(String.valueOf(dim).getBytes(charset));
+        for (float f : vector) {
+            argsList.add(String.valueOf(f).getBytes(charset));
+        }
+        argsList.add("element".getBytes(charset));
+        return argsList.toArray(new byte[0][]);
+    }
+
+    private byte[][] fp32Args(byte[] blob) {
+        List<byte[]> argsList = new ArrayList<>();
+        argsList.add("services".getBytes(charset));
+        argsList.add("FP32".getBytes(charset));
+        argsList.add(blob);
+        argsList.add("element".getBytes(charset));
+        return argsList.toArray(new byte[0][]);
+    }
+
+    /**
+     * 计算 VADD 命令按 RESP 多条批量回复格式写出的字节数
+     */
+    private static long respSize(byte[][] args) {
+        long size = headerSize(args.length + 1) + bulkSize("VADD".length());
+        for (byte[] arg : args) {
+            size += bulkSize(arg.length);
+        }
+        return size;
+    }
+
+    private static long bulkSize(int length) {
+        return headerSize(length) + length + 2;
+    }
+
+    private static long headerSize(int length) {
+        return 1 + String.valueOf(length).length() + 2;
+    }
+}
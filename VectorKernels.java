@@ -0,0 +1,40 @@
+package com.example.demo;
+
+/**
+ * 向量计算内核
+ * 由 {@link VectorScorer} 在运行时按类名加载实现，调用方负责参数校验，实现不再检查下标和维度
+ *
+ * @author tangzq
+ */
+interface VectorKernels {
+
+    /**
+     * int8 内核是否快于标量实现
+     */
+    boolean int8Supported();
+
+    /**
+     * 点积，a 从 aOffset、b 从 bOffset 开始各取 length 个分量
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * 余弦相似度，任一向量为零向量时返回0
+     */
+    float cosine(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * 欧氏距离的平方
+     */
+    float squareDistance(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * int8 点积
+     */
+    int dot(byte[] a, byte[] b, int length);
+
+    /**
+     * int8 欧氏距离的平方
+     */
+    int squareDistance(byte[] a, byte[] b, int length);
+}
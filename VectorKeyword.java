@@ -0,0 +1,46 @@
+package com.example.demo;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis向量集合命令关键字
+ * 关键字字节在类加载时预先编码，调用方不可修改 {@link #getRaw()} 返回的数组
+ *
+ * @author tangzq
+ */
+public enum VectorKeyword {
+
+    REDUCE,
+    VALUES,
+    FP32,
+    ELE,
+    NOQUANT,
+    Q8,
+    BIN,
+    CAS,
+    EF,
+    SETATTR,
+    M,
+    WITHSCORES,
+    WITHATTRIBS,
+    COUNT,
+    EPSILON,
+    FILTER,
+    FILTER_EF("FILTER-EF"),
+    TRUTH,
+    RAW;
+
+    private final byte[] raw;
+
+    VectorKeyword() {
+        this.raw = name().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    VectorKeyword(String keyword) {
+        this.raw = keyword.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public byte[] getRaw() {
+        return raw;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo;
+
+/**
+ * 批量写入的向量元素
+ *
+ * @author tangzq
+ */
+public class VectorRecord {
+
+    private final String element;
+    private final float[] vector;
+    private final String attributes;
+
+    /**
+     * @param element 元素标识符
+     * @param vector 向量数据数组
+     */
+    public VectorRecord(String element, float[] vector) {
+        this(element, vector, null);
+    }
+
+    /**
+     * @param element 元素标识符
+     * @param vector 向量数据数组
+     * @param attributes 元素属性信息（JSON），为null时不设置
+     */
+    public VectorRecord(String element, float[] vector, String attributes) {
+        this.element = element;
+        this.vector = vector;
+        this.attributes = attributes;
+    }
+
+    public String getElement() {
+        return element;
+    }
+
+    public float[] getVector() {
+        return vector;
+    }
+
+    public String getAttributes() {
+        return attributes;
+    }
+}
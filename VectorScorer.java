@@ -0,0 +1,326 @@
+package com.example.demo;
+
+import java.nio.FloatBuffer;
+import java.util.Objects;
+
+/**
+ * 客户端向量相似度计算
+ * 提供点积、余弦相似度和欧氏距离，支持 float[]、FloatBuffer（堆内、堆外或内存映射，如
+ * {@link MappedEmbeddingCache#embedding(String)} 返回的视图）以及 int8 量化向量，可用于结果重排、本地缓存和聚类。
+ *
+ * <p>运行时加载了 jdk.incubator.vector 模块（{@code --add-modules jdk.incubator.vector}）且类路径上有单独编译的
+ * SIMD 内核（可选源码目录 simd/）时使用 SIMD 内核，否则使用标量实现，两者结果在浮点舍入误差内一致。堆外 FloatBuffer 按块复制到线程本地数组后计算，
+ * 以兼容 JDK 17 起的各版本 Vector API</p>
+ *
+ * @author tangzq
+ */
+public final class VectorScorer {
+
+    private static final String SIMD_KERNELS_CLASS = "com.example.demo.SimdKernels";
+
+    /**
+     * SIMD 内核，未加载 JDK Vector API 模块或未编译内核时为null
+     */
+    private static final VectorKernels KERNELS = loadSimdKernels();
+    private static final boolean SIMD = KERNELS != null;
+    private static final boolean SIMD_INT8 = SIMD && KERNELS.int8Supported();
+
+    /**
+     * 堆外 FloatBuffer 每次复制的分量数，16KB 可留在一级缓存中
+     */
+    private static final int BLOCK_FLOATS = 4096;
+
+    private static final ThreadLocal<float[]> BLOCK = ThreadLocal.withInitial(() -> new float[BLOCK_FLOATS]);
+
+    private VectorScorer() {
+    }
+
+    /**
+     * 是否使用 SIMD 内核
+     *
+     * @return 已加载 jdk.incubator.vector 且 SIMD 内核可用时返回true
+     */
+    public static boolean isSimdEnabled() {
+        return SIMD;
+    }
+
+    /**
+     * 点积
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 点积
+     */
+    public static float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, checkLength(a.length, b.length));
+    }
+
+    /**
+     * 点积，用于连续存放多个向量的数组
+     *
+     * @param a 数组a
+     * @param aOffset a的起始下标
+     * @param b 数组b
+     * @param bOffset b的起始下标
+     * @param length 分量数
+     * @return 点积
+     */
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        Objects.checkFromIndexSize(aOffset, length, a.length);
+        Objects.checkFromIndexSize(bOffset, length, b.length);
+        return SIMD ? KERNELS.dot(a, aOffset, b, bOffset, length) : dotScalar(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * 余弦相似度
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 余弦相似度，任一向量为零向量时返回0
+     */
+    public static float cosine(float[] a, float[] b) {
+        int length = checkLength(a.length, b.length);
+        return SIMD ? KERNELS.cosine(a, 0, b, 0, length) : cosineScalar(a, 0, b, 0, length);
+    }
+
+    /**
+     * 欧氏距离的平方，只需比较远近时可省去开方
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 欧氏距离的平方
+     */
+    public static float squareDistance(float[] a, float[] b) {
+        int length = checkLength(a.length, b.length);
+        return SIMD ? KERNELS.squareDistance(a, 0, b, 0, length) : squareDistanceScalar(a, 0, b, 0, length);
+    }
+
+    /**
+     * 欧氏距离
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 欧氏距离
+     */
+    public static float l2Distance(float[] a, float[] b) {
+        return (float) Math.sqrt(squareDistance(a, b));
+    }
+
+    /**
+     * 向量模长
+     *
+     * @param a 向量
+     * @return 模长
+     */
+    public static float norm(float[] a) {
+        return (float) Math.sqrt(dot(a, 0, a, 0, a.length));
+    }
+
+    /**
+     * 点积，a 取 position 到 limit 之间的分量，不改变 a 的位置
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a的剩余分量数一致
+     * @return 点积
+     */
+    public static float dot(FloatBuffer a, float[] b) {
+        int length = checkLength(a.remaining(), b.length);
+        if (a.hasArray()) {
+            return dot(a.array(), a.arrayOffset() + a.position(), b, 0, length);
+        }
+        float[] block = BLOCK.get();
+        float sum = 0;
+        for (int done = 0; done < length; done += BLOCK_FLOATS) {
+            int n = Math.min(BLOCK_FLOATS, length - done);
+            a.get(a.position() + done, block, 0, n);
+            sum += dot(block, 0, b, done, n);
+        }
+        return sum;
+    }
+
+    /**
+     * 余弦相似度，a 取 position 到 limit 之间的分量，不改变 a 的位置
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a的剩余分量数一致
+     * @return 余弦相似度，任一向量为零向量时返回0
+     */
+    public static float cosine(FloatBuffer a, float[] b) {
+        int length = checkLength(a.remaining(), b.length);
+        if (a.hasArray()) {
+            int offset = a.arrayOffset() + a.position();
+            return SIMD ? KERNELS.cosine(a.array(), offset, b, 0, length)
+                    : cosineScalar(a.array(), offset, b, 0, length);
+        }
+        float[] block = BLOCK.get();
+        float dot = 0;
+        float normA = 0;
+        for (int done = 0; done < length; done += BLOCK_FLOATS) {
+            int n = Math.min(BLOCK_FLOATS, length - done);
+            a.get(a.position() + done, block, 0, n);
+            dot += dot(block, 0, b, done, n);
+            normA += dot(block, 0, block, 0, n);
+        }
+        float normB = dot(b, 0, b, 0, length);
+        return normA == 0 || normB == 0 ? 0 : (float) (dot / Math.sqrt((double) normA * normB));
+    }
+
+    /**
+     * 欧氏距离的平方，a 取 position 到 limit 之间的分量，不改变 a 的位置
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a的剩余分量数一致
+     * @return 欧氏距离的平方
+     */
+    public static float squareDistance(FloatBuffer a, float[] b) {
+        int length = checkLength(a.remaining(), b.length);
+        if (a.hasArray()) {
+            int offset = a.arrayOffset() + a.position();
+            return SIMD ? KERNELS.squareDistance(a.array(), offset, b, 0, length)
+                    : squareDistanceScalar(a.array(), offset, b, 0, length);
+        }
+        float[] block = BLOCK.get();
+        float sum = 0;
+        for (int done = 0; done < length; done += BLOCK_FLOATS) {
+            int n = Math.min(BLOCK_FLOATS, length - done);
+            a.get(a.position() + done, block, 0, n);
+            sum += SIMD ? KERNELS.squareDistance(block, 0, b, done, n)
+                    : squareDistanceScalar(block, 0, b, done, n);
+        }
+        return sum;
+    }
+
+    /**
+     * 欧氏距离，a 取 position 到 limit 之间的分量，不改变 a 的位置
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a的剩余分量数一致
+     * @return 欧氏距离
+     */
+    public static float l2Distance(FloatBuffer a, float[] b) {
+        return (float) Math.sqrt(squareDistance(a, b));
+    }
+
+    /**
+     * int8 量化向量点积（如 Q8 量化后的分量），按 int 精确累加
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 点积
+     */
+    public static int dot(byte[] a, byte[] b) {
+        int length = checkLength(a.length, b.length);
+        return SIMD_INT8 ? KERNELS.dot(a, b, length) : dotScalar(a, b, length);
+    }
+
+    /**
+     * int8 量化向量余弦相似度，与量化比例无关
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 余弦相似度，任一向量为零向量时返回0
+     */
+    public static float cosine(byte[] a, byte[] b) {
+        int length = checkLength(a.length, b.length);
+        long normA = SIMD_INT8 ? KERNELS.dot(a, a, length) : dotScalar(a, a, length);
+        long normB = SIMD_INT8 ? KERNELS.dot(b, b, length) : dotScalar(b, b, length);
+        if (normA == 0 || normB == 0) {
+            return 0;
+        }
+        return (float) (dot(a, b) / Math.sqrt((double) normA * normB));
+    }
+
+    /**
+     * int8 量化向量欧氏距离的平方
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 欧氏距离的平方
+     */
+    public static int squareDistance(byte[] a, byte[] b) {
+        int length = checkLength(a.length, b.length);
+        return SIMD_INT8 ? KERNELS.squareDistance(a, b, length) : squareDistanceScalar(a, b, length);
+    }
+
+    /**
+     * int8 量化向量欧氏距离
+     *
+     * @param a 向量a
+     * @param b 向量b，维度须与a一致
+     * @return 欧氏距离
+     */
+    public static float l2Distance(byte[] a, byte[] b) {
+        return (float) Math.sqrt(squareDistance(a, b));
+    }
+
+    /**
+     * 模块未加载时不能触碰内核类，否则解析 jdk.incubator.vector 的类型会抛出 NoClassDefFoundError
+     */
+    private static VectorKernels loadSimdKernels() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            return (VectorKernels) Class.forName(SIMD_KERNELS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static int checkLength(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("向量维度不一致（a=" + a + "，b=" + b + "）");
+        }
+        return a;
+    }
+
+    // 以下标量实现同时供基准测试对比
+
+    static float dotScalar(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    static float cosineScalar(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float dot = 0;
+        float normA = 0;
+        float normB = 0;
+        for (int i = 0; i < length; i++) {
+            float x = a[aOffset + i];
+            float y = b[bOffset + i];
+            dot += x * y;
+            normA += x * x;
+            normB += y * y;
+        }
+        return normA == 0 || normB == 0 ? 0 : (float) (dot / Math.sqrt((double) normA * normB));
+    }
+
+    static float squareDistanceScalar(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+        for (int i = 0; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    static int dotScalar(byte[] a, byte[] b, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    static int squareDistanceScalar(byte[] a, byte[] b, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            int diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
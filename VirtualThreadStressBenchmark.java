@@ -0,0 +1,100 @@
+package com.example.demo;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 虚拟线程并发压测
+ * 启动大量虚拟线程同时调用 vSimResult，统计吞吐、延迟分位数和失败数，需要 JDK 21 及可访问的 Redis。
+ * 可加 -Djdk.tracePinnedThreads=short 观察是否出现载体线程被钉住
+ *
+ * <pre>
+ * java VirtualThreadStressBenchmark [key] [并发调用方数量] [每个调用方的查询次数]
+ * </pre>
+ *
+ * @author tangzq
+ */
+public class VirtualThreadStressBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        String key = args.length > 0 ? args[0] : "services";
+        int callers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int queriesPerCaller = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        if (!VirtualThreads.isSupported()) {
+            System.err.println("当前 JDK 不支持虚拟线程，需要 JDK 21 及以上版本");
+            return;
+        }
+
+        try {
+            int dim = RedisVectorUtil.vDim(key);
+            if (dim <= 0) {
+                System.err.println("向量索引不存在或为空：key=" + key);
+                return;
+            }
+            VSimOptions options = VSimOptions.create().withScores(true).count(10);
+
+            long[] latencies = new long[callers * queriesPerCaller];
+            AtomicInteger latencyIndex = new AtomicInteger();
+            AtomicLong failures = new AtomicLong();
+            CountDownLatch ready = new CountDownLatch(callers);
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(callers);
+
+            ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            for (int c = 0; c < callers; c++) {
+                final long seed = c;
+                executor.execute(() -> {
+                    Random random = new Random(seed);
+                    float[] query = new float[dim];
+                    try {
+                        ready.countDown();
+                        start.await();
+                        for (int q = 0; q < queriesPerCaller; q++) {
+                            for (int i = 0; i < dim; i++) {
+                                query[i] = random.nextFloat() * 2 - 1;
+                            }
+                            long begin = System.nanoTime();
+                            try {
+                                RedisVectorUtil.vSimResult(key, query, options);
+                                latencies[latencyIndex.getAndIncrement()] = System.nanoTime() - begin;
+                            } catch (RuntimeException e) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsed = System.nanoTime() - begin;
+            executor.shutdown();
+
+            int completed = latencyIndex.get();
+            long[] sorted = Arrays.copyOf(latencies, completed);
+            Arrays.sort(sorted);
+            System.out.println("并发调用方=" + callers + "，查询总数=" + completed + "，失败=" + failures.get() + "，耗时="
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms，吞吐=" + String.format("%.1f",
+                    completed * 1_000_000_000d / elapsed) + " QPS");
+            System.out.println("延迟(us) p50=" + BulkLoadReport.percentileMicros(sorted, 50)
+                    + " p99=" + BulkLoadReport.percentileMicros(sorted, 99)
+                    + " p999=" + BulkLoadReport.percentileMicros(sorted, 99.9)
+                    + " max=" + BulkLoadReport.percentileMicros(sorted, 100));
+            System.out.println(RedisVectorUtil.defaultClient().getPoolMetrics());
+        } finally {
+            RedisVectorUtil.closeJedisPool();
+        }
+    }
+}
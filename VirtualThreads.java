@@ -0,0 +1,80 @@
+package com.example.demo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程工具类
+ * 通过反射访问 JDK 21 的虚拟线程 API，在低版本 JDK 上编译和运行不受影响
+ *
+ * @author tangzq
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle IS_VIRTUAL;
+    private static final MethodHandle NEW_VIRTUAL_EXECUTOR;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle isVirtual = null;
+        MethodHandle newExecutor = null;
+        try {
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            newExecutor = lookup.findStatic(java.util.concurrent.Executors.class,
+                    "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // JDK 21 以下不支持虚拟线程
+        }
+        IS_VIRTUAL = isVirtual;
+        NEW_VIRTUAL_EXECUTOR = newExecutor;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JDK 是否支持虚拟线程
+     *
+     * @return 支持返回true
+     */
+    public static boolean isSupported() {
+        return IS_VIRTUAL != null && NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * 判断线程是否为虚拟线程
+     *
+     * @param thread 线程
+     * @return 虚拟线程返回true，JDK 不支持时始终返回false
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的线程池
+     *
+     * @return 虚拟线程线程池
+     * @throws UnsupportedOperationException JDK 不支持虚拟线程
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_EXECUTOR == null) {
+            throw new UnsupportedOperationException("当前 JDK 不支持虚拟线程，需要 JDK 21 及以上版本");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("创建虚拟线程线程池失败", e);
+        }
+    }
+}
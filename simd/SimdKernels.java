@@ -0,0 +1,151 @@
+package com.example.demo;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 基于 JDK Vector API（jdk.incubator.vector）的向量计算内核
+ * 位于可选源码目录 simd/，不随核心源码编译，需在核心类编译完成后单独编译到同一输出目录：
+ * {@code javac --add-modules jdk.incubator.vector -cp <核心类目录> -d <核心类目录> simd/SimdKernels.java}。
+ * {@link VectorScorer} 确认运行时已加载该模块后按类名反射加载本类，类不存在或加载失败时使用标量实现
+ *
+ * @author tangzq
+ */
+final class SimdKernels implements VectorKernels {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * int8 每次读取 8 个分量并扩展为 8 个 int，需要 256 位整数向量
+     */
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_256;
+
+    /**
+     * 平台是否有 256 位以上的向量寄存器，否则 int8 内核退化为软件模拟，不如标量实现
+     */
+    private static final boolean INT8_SUPPORTED = IntVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+
+    SimdKernels() {
+    }
+
+    @Override
+    public boolean int8Supported() {
+        return INT8_SUPPORTED;
+    }
+
+    /**
+     * 点积，a 从 aOffset、b 从 bOffset 开始各取 length 个分量
+     */
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * 余弦相似度，一次遍历同时累加点积和两个向量的模长平方
+     */
+    @Override
+    public float cosine(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector dot = FloatVector.zero(FLOATS);
+        FloatVector normA = FloatVector.zero(FLOATS);
+        FloatVector normB = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+        float d = dot.reduceLanes(VectorOperators.ADD);
+        float na = normA.reduceLanes(VectorOperators.ADD);
+        float nb = normB.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float x = a[aOffset + i];
+            float y = b[bOffset + i];
+            d += x * y;
+            na += x * x;
+            nb += y * y;
+        }
+        return na == 0 || nb == 0 ? 0 : (float) (d / Math.sqrt((double) na * nb));
+    }
+
+    /**
+     * 欧氏距离的平方
+     */
+    @Override
+    public float squareDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector diff = FloatVector.fromArray(FLOATS, a, aOffset + i)
+                    .sub(FloatVector.fromArray(FLOATS, b, bOffset + i));
+            acc = diff.fma(diff, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    /**
+     * int8 点积，按 int 累加，3072 维以内不会溢出
+     */
+    @Override
+    public int dot(byte[] a, byte[] b, int length) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = 0;
+        int bound = BYTES.loopBound(length);
+        for (; i < bound; i += BYTES.length()) {
+            IntVector va = (IntVector) ByteVector.fromArray(BYTES, a, i).castShape(INTS, 0);
+            IntVector vb = (IntVector) ByteVector.fromArray(BYTES, b, i).castShape(INTS, 0);
+            acc = va.mul(vb).add(acc);
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * int8 欧氏距离的平方
+     */
+    @Override
+    public int squareDistance(byte[] a, byte[] b, int length) {
+        IntVector acc = IntVector.zero(INTS);
+        int i = 0;
+        int bound = BYTES.loopBound(length);
+        for (; i < bound; i += BYTES.length()) {
+            IntVector diff = ((IntVector) ByteVector.fromArray(BYTES, a, i).castShape(INTS, 0))
+                    .sub((IntVector) ByteVector.fromArray(BYTES, b, i).castShape(INTS, 0));
+            acc = diff.mul(diff).add(acc);
+        }
+        int sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            int diff = a[i] - b[i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}